@@ -0,0 +1,487 @@
+package org.magcube.card;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.magcube.enums.CardType;
+
+// binary form of the card catalog, all fields are big-endian ints
+//
+// header:     magic, version, numOfCards[4], numOfQuantities[4], poolOffset, poolSize, stringsOffset, numOfStrings
+// cards:      fixed-width records of every card type in order, resource cards use RESOURCE_RECORD_INTS, buildings BUILDING_RECORD_INTS
+// quantities: fixed-width records of QUANTITY_RECORD_INTS
+// pool:       variable-length cost options, an option is [size, packed identities...], options are [size, option offsets...]
+// strings:    [byte offset, byte length] of each string followed by the utf-8 bytes
+public class BinaryCardCatalog implements CardCatalog {
+
+  public static final int MAGIC = 0x4D434343;
+  public static final int VERSION = 1;
+
+  private static final int HEADER_INTS = 2 + CardType.NUM_OF_CARD_TYPES * 2 + 4;
+  private static final int RESOURCE_RECORD_INTS = 5;
+  private static final int BUILDING_RECORD_INTS = 11;
+  private static final int QUANTITY_RECORD_INTS = 4;
+  private static final int NULL_REF = -1;
+
+  private final List<ResourceCard> basicResource;
+  private final List<ResourceCard> levelOneResource;
+  private final List<ResourceCard> levelTwoResource;
+  private final List<BuildingCard> building;
+  // kept as raw records, creating CardQuantity here may run before it is initialized
+  private final int[][] quantityRecords = new int[CardType.NUM_OF_CARD_TYPES][];
+
+  // a truncated or corrupted file is reported as an IOException, so the caller can fall back to another catalog
+  private BinaryCardCatalog(ByteBuffer buffer) throws IOException {
+    try {
+      var reader = new Reader(buffer);
+      basicResource = reader.readResourceCards(CardType.BASIC_RESOURCE);
+      levelOneResource = reader.readResourceCards(CardType.LEVEL_ONE_RESOURCE);
+      levelTwoResource = reader.readResourceCards(CardType.LEVEL_TWO_RESOURCE);
+      building = reader.readBuildingCards();
+      for (var cardType : CardType.values()) {
+        quantityRecords[cardType.getValue()] = reader.readQuantityRecords(cardType);
+      }
+    } catch (IndexOutOfBoundsException | BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+      throw new IOException("Corrupted binary card catalog", e);
+    }
+  }
+
+  public static BinaryCardCatalog map(Path file) throws IOException {
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new BinaryCardCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  public static BinaryCardCatalog read(ByteBuffer buffer) throws IOException {
+    return new BinaryCardCatalog(buffer.duplicate());
+  }
+
+  public static void write(CardCatalog catalog, Path file) throws IOException {
+    Files.write(file, toBytes(catalog));
+  }
+
+  public static byte[] toBytes(CardCatalog catalog) throws IOException {
+    return new Writer(catalog).toBytes();
+  }
+
+  // converts json to the binary format, usage: [json directory] <output file>, the bundled json is used without a directory
+  public static void main(String[] args) throws IOException {
+    if (args.length == 1) {
+      write(JsonCardCatalog.fromClasspath(), Path.of(args[0]));
+    } else if (args.length == 2) {
+      write(JsonCardCatalog.fromDirectory(Path.of(args[0])), Path.of(args[1]));
+    } else {
+      throw new IllegalArgumentException("Usage: BinaryCardCatalog [json directory] <output file>");
+    }
+  }
+
+  @Override
+  public List<ResourceCard> basicResource() {
+    return basicResource;
+  }
+
+  @Override
+  public List<ResourceCard> levelOneResource() {
+    return levelOneResource;
+  }
+
+  @Override
+  public List<ResourceCard> levelTwoResource() {
+    return levelTwoResource;
+  }
+
+  @Override
+  public List<BuildingCard> building() {
+    return building;
+  }
+
+  @Override
+  public List<CardQuantity> basicResourceQuantity() {
+    return toQuantities(CardType.BASIC_RESOURCE);
+  }
+
+  @Override
+  public List<CardQuantity> levelOneResourceQuantity() {
+    return toQuantities(CardType.LEVEL_ONE_RESOURCE);
+  }
+
+  @Override
+  public List<CardQuantity> levelTwoResourceQuantity() {
+    return toQuantities(CardType.LEVEL_TWO_RESOURCE);
+  }
+
+  @Override
+  public List<CardQuantity> buildingQuantity() {
+    return toQuantities(CardType.BUILDING);
+  }
+
+  private List<CardQuantity> toQuantities(CardType cardType) {
+    var records = quantityRecords[cardType.getValue()];
+    var quantities = new ArrayList<CardQuantity>(records.length / QUANTITY_RECORD_INTS);
+    for (int i = 0; i < records.length; i += QUANTITY_RECORD_INTS) {
+      quantities.add(new CardQuantity(identity(records[i]), records[i + 1], records[i + 2], records[i + 3]));
+    }
+    return quantities;
+  }
+
+  private static CardIdentity identity(int packed) {
+    return packed == NULL_REF ? null : CardIdentity.fromPacked(packed);
+  }
+
+  private static int packed(CardIdentity cardIdentity) throws IOException {
+    if (cardIdentity == null) {
+      return NULL_REF;
+    }
+    var packed = cardIdentity.packed();
+    if (packed == CardIdentity.INVALID_PACKED) {
+      throw new IOException("Card identity cannot be packed: " + cardIdentity);
+    }
+    return packed;
+  }
+
+  private static int recordInts(CardType cardType) {
+    return cardType == CardType.BUILDING ? BUILDING_RECORD_INTS : RESOURCE_RECORD_INTS;
+  }
+
+  // 0 is null, 1 is false, 2 is true
+  private static int encodeBoolean(Boolean value) {
+    return value == null ? 0 : value ? 2 : 1;
+  }
+
+  private static Boolean decodeBoolean(int value) {
+    return value == 0 ? null : value == 2;
+  }
+
+  private static class Reader {
+
+    private final ByteBuffer buffer;
+    private final int[] numOfCards = new int[CardType.NUM_OF_CARD_TYPES];
+    private final int[] numOfQuantities = new int[CardType.NUM_OF_CARD_TYPES];
+    private final int[] cardsOffsets = new int[CardType.NUM_OF_CARD_TYPES];
+    private final int[] quantitiesOffsets = new int[CardType.NUM_OF_CARD_TYPES];
+    private final int poolOffset;
+    private final int poolSize;
+    private final String[] strings;
+
+    private Reader(ByteBuffer buffer) throws IOException {
+      this.buffer = buffer;
+      if (buffer.limit() < HEADER_INTS * Integer.BYTES || buffer.getInt(0) != MAGIC) {
+        throw new IOException("Not a binary card catalog");
+      }
+      if (buffer.getInt(Integer.BYTES) != VERSION) {
+        throw new IOException("Unsupported binary card catalog version: " + buffer.getInt(Integer.BYTES));
+      }
+
+      var position = 2 * Integer.BYTES;
+      for (int i = 0; i < CardType.NUM_OF_CARD_TYPES; i++, position += Integer.BYTES) {
+        numOfCards[i] = count(buffer.getInt(position));
+      }
+      for (int i = 0; i < CardType.NUM_OF_CARD_TYPES; i++, position += Integer.BYTES) {
+        numOfQuantities[i] = count(buffer.getInt(position));
+      }
+      poolOffset = buffer.getInt(position);
+      poolSize = count(buffer.getInt(position + Integer.BYTES));
+      var stringsOffset = buffer.getInt(position + 2 * Integer.BYTES);
+      var numOfStrings = count(buffer.getInt(position + 3 * Integer.BYTES));
+
+      // computed as longs, so huge counts cannot wrap around to a valid looking offset
+      var offset = (long) HEADER_INTS * Integer.BYTES;
+      for (var cardType : CardType.values()) {
+        cardsOffsets[cardType.getValue()] = (int) Math.min(offset, Integer.MAX_VALUE);
+        offset += (long) numOfCards[cardType.getValue()] * recordInts(cardType) * Integer.BYTES;
+      }
+      for (var cardType : CardType.values()) {
+        quantitiesOffsets[cardType.getValue()] = (int) Math.min(offset, Integer.MAX_VALUE);
+        offset += (long) numOfQuantities[cardType.getValue()] * QUANTITY_RECORD_INTS * Integer.BYTES;
+      }
+      var bytesOffset = stringsOffset + (long) numOfStrings * 2 * Integer.BYTES;
+      if (offset != poolOffset || poolOffset + (long) poolSize * Integer.BYTES != stringsOffset || bytesOffset > buffer.limit()) {
+        throw new IOException("Corrupted binary card catalog");
+      }
+
+      strings = new String[numOfStrings];
+      for (int i = 0; i < numOfStrings; i++) {
+        var start = bytesOffset + buffer.getInt(stringsOffset + i * 2 * Integer.BYTES);
+        var length = buffer.getInt(stringsOffset + (i * 2 + 1) * Integer.BYTES);
+        if (start < bytesOffset || length < 0 || start + length > buffer.limit()) {
+          throw new IOException("Corrupted binary card catalog");
+        }
+        var bytes = new byte[length];
+        buffer.get((int) start, bytes);
+        strings[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+    }
+
+    private static int count(int value) throws IOException {
+      if (value < 0) {
+        throw new IOException("Corrupted binary card catalog");
+      }
+      return value;
+    }
+
+    private int intAt(int offset, int index) {
+      return buffer.getInt(offset + index * Integer.BYTES);
+    }
+
+    private String string(int ref) throws IOException {
+      if (ref == NULL_REF) {
+        return null;
+      }
+      if (ref < 0 || ref >= strings.length) {
+        throw new IOException("Corrupted binary card catalog");
+      }
+      return strings[ref];
+    }
+
+    // identities are checked here, so the records kept for quantities are known to be valid
+    private static int checkedPacked(int packed) throws IOException {
+      if (packed != NULL_REF && (packed < 0 || packed >= CardIdentity.NUM_OF_PACKED_VALUES)) {
+        throw new IOException("Corrupted binary card catalog");
+      }
+      return packed;
+    }
+
+    private static CardIdentity checkedIdentity(int packed) throws IOException {
+      return identity(checkedPacked(packed));
+    }
+
+    private int pool(int index) throws IOException {
+      if (index < 0 || index >= poolSize) {
+        throw new IOException("Corrupted binary card catalog");
+      }
+      return intAt(poolOffset, index);
+    }
+
+    // the size stored at ref, an entry cannot run past the end of the pool
+    private int poolSize(int ref) throws IOException {
+      var size = pool(ref);
+      if (size < 0 || size > poolSize - ref - 1) {
+        throw new IOException("Corrupted binary card catalog");
+      }
+      return size;
+    }
+
+    private CardIdentity[] option(int ref) throws IOException {
+      if (ref == NULL_REF) {
+        return null;
+      }
+      var option = new CardIdentity[poolSize(ref)];
+      for (int i = 0; i < option.length; i++) {
+        option[i] = checkedIdentity(pool(ref + 1 + i));
+      }
+      return option;
+    }
+
+    private CardIdentity[][] options(int ref) throws IOException {
+      if (ref == NULL_REF) {
+        return null;
+      }
+      var options = new CardIdentity[poolSize(ref)][];
+      for (int i = 0; i < options.length; i++) {
+        options[i] = option(pool(ref + 1 + i));
+      }
+      return options;
+    }
+
+    private List<ResourceCard> readResourceCards(CardType cardType) throws IOException {
+      var cards = new ArrayList<ResourceCard>(numOfCards[cardType.getValue()]);
+      var offset = cardsOffsets[cardType.getValue()];
+      for (int i = 0; i < numOfCards[cardType.getValue()]; i++, offset += RESOURCE_RECORD_INTS * Integer.BYTES) {
+        cards.add(ResourceCard.builder()
+            .cardIdentity(checkedIdentity(intAt(offset, 0)))
+            .value(intAt(offset, 1))
+            .name(string(intAt(offset, 2)))
+            .cost(options(intAt(offset, 3)))
+            .capital(option(intAt(offset, 4)))
+            .build());
+      }
+      return cards;
+    }
+
+    private List<BuildingCard> readBuildingCards() throws IOException {
+      var cardType = CardType.BUILDING;
+      var cards = new ArrayList<BuildingCard>(numOfCards[cardType.getValue()]);
+      var offset = cardsOffsets[cardType.getValue()];
+      for (int i = 0; i < numOfCards[cardType.getValue()]; i++, offset += BUILDING_RECORD_INTS * Integer.BYTES) {
+        var flags = intAt(offset, 9);
+        cards.add(BuildingCard.builder()
+            .cardIdentity(checkedIdentity(intAt(offset, 0)))
+            .value(intAt(offset, 1))
+            .name(string(intAt(offset, 2)))
+            .cost(options(intAt(offset, 3)))
+            .points(intAt(offset, 4))
+            .effectCost(options(intAt(offset, 5)))
+            .effectCapital(option(intAt(offset, 6)))
+            .effectProduct(checkedIdentity(intAt(offset, 7)))
+            .effectPoints(intAt(offset, 8))
+            .isStartingBuilding(decodeBoolean(flags & 0b11))
+            .isExtension(decodeBoolean(flags >> 2 & 0b11))
+            .specialEffect(string(intAt(offset, 10)))
+            .build());
+      }
+      return cards;
+    }
+
+    private int[] readQuantityRecords(CardType cardType) throws IOException {
+      var records = new int[numOfQuantities[cardType.getValue()] * QUANTITY_RECORD_INTS];
+      var offset = quantitiesOffsets[cardType.getValue()];
+      for (int i = 0; i < records.length; i++) {
+        records[i] = intAt(offset, i);
+      }
+      for (int i = 0; i < records.length; i += QUANTITY_RECORD_INTS) {
+        checkedPacked(records[i]);
+      }
+      return records;
+    }
+  }
+
+  private static class Writer {
+
+    private final CardCatalog catalog;
+    private final List<Integer> records = new ArrayList<>();
+    private final List<Integer> pool = new ArrayList<>();
+    private final List<String> strings = new ArrayList<>();
+    private final HashMap<String, Integer> stringRefs = new HashMap<>();
+
+    private Writer(CardCatalog catalog) {
+      this.catalog = catalog;
+    }
+
+    private int stringRef(String string) {
+      if (string == null) {
+        return NULL_REF;
+      }
+      return stringRefs.computeIfAbsent(string, k -> {
+        strings.add(k);
+        return strings.size() - 1;
+      });
+    }
+
+    private int optionRef(CardIdentity[] option) throws IOException {
+      if (option == null) {
+        return NULL_REF;
+      }
+      var ref = pool.size();
+      pool.add(option.length);
+      for (var cardIdentity : option) {
+        pool.add(packed(cardIdentity));
+      }
+      return ref;
+    }
+
+    private int optionsRef(CardIdentity[][] options) throws IOException {
+      if (options == null) {
+        return NULL_REF;
+      }
+      var optionRefs = new int[options.length];
+      for (int i = 0; i < options.length; i++) {
+        optionRefs[i] = optionRef(options[i]);
+      }
+      var ref = pool.size();
+      pool.add(options.length);
+      for (var optionRef : optionRefs) {
+        pool.add(optionRef);
+      }
+      return ref;
+    }
+
+    private void writeResourceCards(List<ResourceCard> cards) throws IOException {
+      for (var card : cards) {
+        records.add(packed(card.getCardIdentity()));
+        records.add(card.getValue());
+        records.add(stringRef(card.getName()));
+        records.add(optionsRef(card.getCost()));
+        records.add(optionRef(card.getCapital()));
+      }
+    }
+
+    private void writeBuildingCards(List<BuildingCard> cards) throws IOException {
+      for (var card : cards) {
+        records.add(packed(card.getCardIdentity()));
+        records.add(card.getValue());
+        records.add(stringRef(card.getName()));
+        records.add(optionsRef(card.getCost()));
+        records.add(card.getPoints());
+        records.add(optionsRef(card.getEffectCost()));
+        records.add(optionRef(card.getEffectCapital()));
+        records.add(packed(card.getEffectProduct()));
+        records.add(card.getEffectPoints());
+        records.add(encodeBoolean(card.getIsStartingBuilding()) | encodeBoolean(card.getIsExtension()) << 2);
+        records.add(stringRef(card.getSpecialEffect()));
+      }
+    }
+
+    private void writeQuantities(List<CardQuantity> quantities) throws IOException {
+      for (var quantity : quantities) {
+        records.add(packed(quantity.cardIdentity()));
+        records.add(quantity.twoPlayers());
+        records.add(quantity.threePlayers());
+        records.add(quantity.fourPlayers());
+      }
+    }
+
+    private byte[] toBytes() throws IOException {
+      var cardLists = List.of(catalog.basicResource(), catalog.levelOneResource(), catalog.levelTwoResource(), catalog.building());
+      var quantityLists = List.of(catalog.basicResourceQuantity(), catalog.levelOneResourceQuantity(),
+          catalog.levelTwoResourceQuantity(), catalog.buildingQuantity());
+
+      writeResourceCards(catalog.basicResource());
+      writeResourceCards(catalog.levelOneResource());
+      writeResourceCards(catalog.levelTwoResource());
+      writeBuildingCards(catalog.building());
+      for (var quantities : quantityLists) {
+        writeQuantities(quantities);
+      }
+
+      var encodedStrings = new ArrayList<byte[]>();
+      for (var string : strings) {
+        encodedStrings.add(string.getBytes(StandardCharsets.UTF_8));
+      }
+
+      var poolOffset = (HEADER_INTS + records.size()) * Integer.BYTES;
+      var stringsOffset = poolOffset + pool.size() * Integer.BYTES;
+
+      var bytes = new ByteArrayOutputStream();
+      var output = new DataOutputStream(bytes);
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      for (var cards : cardLists) {
+        output.writeInt(cards.size());
+      }
+      for (var quantities : quantityLists) {
+        output.writeInt(quantities.size());
+      }
+      output.writeInt(poolOffset);
+      output.writeInt(pool.size());
+      output.writeInt(stringsOffset);
+      output.writeInt(strings.size());
+      for (var value : records) {
+        output.writeInt(value);
+      }
+      for (var value : pool) {
+        output.writeInt(value);
+      }
+      var byteOffset = 0;
+      for (var encoded : encodedStrings) {
+        output.writeInt(byteOffset);
+        output.writeInt(encoded.length);
+        byteOffset += encoded.length;
+      }
+      for (var encoded : encodedStrings) {
+        output.write(encoded);
+      }
+      output.flush();
+      return bytes.toByteArray();
+    }
+  }
+}
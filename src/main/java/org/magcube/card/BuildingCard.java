@@ -1,15 +1,16 @@
 package org.magcube.card;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import lombok.AccessLevel;
 import lombok.Builder;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @NoArgsConstructor
 @ToString(callSuper = true)
-@EqualsAndHashCode(callSuper = true)
 @Getter
 public class BuildingCard extends Card {
 
@@ -24,6 +25,17 @@ public class BuildingCard extends Card {
   // todo
   private String specialEffect;
 
+  // compiled lazily, as Jackson fills the fields after construction
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private CardIdentitiesMatcher costMatcher;
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private CardIdentitiesMatcher effectCostMatcher;
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private CardIdentitiesMatcher effectCapitalMatcher;
+
   @Builder
   public BuildingCard(CardIdentity cardIdentity, String name, int value, CardIdentity[][] cost, int points, CardIdentity[][] effectCost,
       CardIdentity[] effectCapital, CardIdentity effectProduct, int effectPoints, Boolean isStartingBuilding, Boolean isExtension,
@@ -40,15 +52,68 @@ public class BuildingCard extends Card {
     this.specialEffect = specialEffect;
   }
 
+  public BuildingCard(BuildingCard card) {
+    super(card);
+    this.cost = card.cost;
+    this.points = card.points;
+    this.effectCost = card.effectCost;
+    this.effectCapital = card.effectCapital;
+    this.effectProduct = card.effectProduct == null ? null : CardIdentity.of(card.effectProduct.cardType(), card.effectProduct.typeId());
+    this.effectPoints = card.effectPoints;
+    this.isStartingBuilding = card.isStartingBuilding;
+    this.isExtension = card.isExtension;
+    this.specialEffect = card.specialEffect;
+    this.costMatcher = card.costMatcher;
+    this.effectCostMatcher = card.effectCostMatcher;
+    this.effectCapitalMatcher = card.effectCapitalMatcher;
+  }
+
+  @Override
+  public boolean valueEquals(Card card) {
+    return super.valueEquals(card) && card instanceof BuildingCard other && points == other.points && effectPoints == other.effectPoints
+        && Arrays.deepEquals(cost, other.cost) && Arrays.deepEquals(effectCost, other.effectCost)
+        && Arrays.equals(effectCapital, other.effectCapital) && Objects.equals(effectProduct, other.effectProduct)
+        && Objects.equals(isStartingBuilding, other.isStartingBuilding) && Objects.equals(isExtension, other.isExtension)
+        && Objects.equals(specialEffect, other.specialEffect);
+  }
+
+  @Override
+  void compileMatchers() {
+    costMatcher = CardIdentitiesMatcher.compile(cost);
+    effectCostMatcher = CardIdentitiesMatcher.compile(effectCost);
+    effectCapitalMatcher = CardIdentitiesMatcher.compile(effectCapital);
+  }
+
+  public CardIdentitiesMatcher costMatcher() {
+    if (costMatcher == null) {
+      costMatcher = CardIdentitiesMatcher.compile(cost);
+    }
+    return costMatcher;
+  }
+
+  public CardIdentitiesMatcher effectCostMatcher() {
+    if (effectCostMatcher == null) {
+      effectCostMatcher = CardIdentitiesMatcher.compile(effectCost);
+    }
+    return effectCostMatcher;
+  }
+
+  public CardIdentitiesMatcher effectCapitalMatcher() {
+    if (effectCapitalMatcher == null) {
+      effectCapitalMatcher = CardIdentitiesMatcher.compile(effectCapital);
+    }
+    return effectCapitalMatcher;
+  }
+
   public boolean costMatch(List<CardIdentity> cardIdentities) {
-    return Cards.isTwoDimCardIdentitiesMatch(cost, cardIdentities.toArray(new CardIdentity[0]));
+    return costMatcher().match(cardIdentities);
   }
 
   public boolean effectCostMatch(List<CardIdentity> cardIdentities) {
-    return Cards.isTwoDimCardIdentitiesMatch(effectCost, cardIdentities.toArray(new CardIdentity[0]));
+    return effectCostMatcher().match(cardIdentities);
   }
 
   public boolean effectCapitalMatch(List<CardIdentity> cardIdentities) {
-    return Cards.isOneDimCardIdentitiesMatch(effectCapital, cardIdentities.toArray(new CardIdentity[0]));
+    return effectCapitalMatcher().match(cardIdentities);
   }
 }
@@ -1,23 +1,41 @@
 package org.magcube.card;
 
-import lombok.AllArgsConstructor;
-import lombok.EqualsAndHashCode;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.magcube.enums.CardType;
 
-@NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @ToString
-@EqualsAndHashCode
 public abstract class Card {
 
+  private static final AtomicLong nextInstanceId = new AtomicLong();
+
+  // each physical card is unique, equals and hashCode are based on it, use valueEquals to compare the card content
+  // the id is local to the process, so it is kept out of getters, json and toString, a long does not wrap in practice
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private final long instanceId = nextInstanceId.getAndIncrement();
   protected CardIdentity cardIdentity;
   protected String name;
   protected int value;
 
+  protected Card() {
+  }
+
+  protected Card(CardIdentity cardIdentity, String name, int value) {
+    this.cardIdentity = cardIdentity;
+    this.name = name;
+    this.value = value;
+  }
+
+  // the copy shares everything with the original, card definitions are never mutated after loading
+  protected Card(Card card) {
+    this(CardIdentity.of(card.cardType(), card.typeId()), card.name, card.value);
+  }
+
   // don't use getCardType as name as Jackson will parse it as a field
   public CardType cardType() {
     return cardIdentity.cardType();
@@ -35,4 +53,25 @@ public abstract class Card {
   public boolean isIdentical(Card card) {
     return cardIdentity.equals(card.cardIdentity);
   }
+
+  public boolean valueEquals(Card card) {
+    if (this == card) {
+      return true;
+    }
+    return card != null && getClass() == card.getClass() && value == card.value && Objects.equals(cardIdentity, card.cardIdentity)
+        && Objects.equals(name, card.name);
+  }
+
+  @Override
+  public final boolean equals(Object o) {
+    return this == o || o instanceof Card card && instanceId == card.instanceId;
+  }
+
+  @Override
+  public final int hashCode() {
+    return Long.hashCode(instanceId);
+  }
+
+  // precompiles the cost and capital matchers, called once the card data is loaded
+  abstract void compileMatchers();
 }
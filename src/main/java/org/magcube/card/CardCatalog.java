@@ -0,0 +1,25 @@
+package org.magcube.card;
+
+import java.util.List;
+
+// source of the card data, either the table generated at build time or the json
+public interface CardCatalog {
+
+  List<ResourceCard> basicResource();
+
+  List<ResourceCard> levelOneResource();
+
+  List<ResourceCard> levelTwoResource();
+
+  List<BuildingCard> building();
+
+  // quantities are built on each call rather than held, as CardQuantity reads them in its own initializer
+
+  List<CardQuantity> basicResourceQuantity();
+
+  List<CardQuantity> levelOneResourceQuantity();
+
+  List<CardQuantity> levelTwoResourceQuantity();
+
+  List<CardQuantity> buildingQuantity();
+}
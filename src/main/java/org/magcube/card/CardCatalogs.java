@@ -0,0 +1,58 @@
+package org.magcube.card;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class CardCatalogs {
+
+  // points to a directory of type*.json to load a modded catalog instead of the built-in one
+  public static final String CATALOG_DIR_PROPERTY = "magcube.cardCatalogDir";
+  // points to a catalog file written by BinaryCardCatalog, it is mapped instead of parsed
+  public static final String CATALOG_FILE_PROPERTY = "magcube.cardCatalogFile";
+
+  private static final String GENERATED_CATALOG_CLASS = "org.magcube.card.GeneratedCardCatalog";
+
+  private CardCatalogs() {
+  }
+
+  public static CardCatalog get() {
+    return Holder.catalog;
+  }
+
+  static CardCatalog load() throws IOException {
+    var catalogDir = System.getProperty(CATALOG_DIR_PROPERTY);
+    if (catalogDir != null && !catalogDir.isBlank()) {
+      return JsonCardCatalog.fromDirectory(Path.of(catalogDir));
+    }
+    var catalogFile = System.getProperty(CATALOG_FILE_PROPERTY);
+    if (catalogFile != null && !catalogFile.isBlank()) {
+      return BinaryCardCatalog.map(Path.of(catalogFile));
+    }
+    var generated = loadGenerated();
+    return generated != null ? generated : JsonCardCatalog.fromClasspath();
+  }
+
+  // the generated table only exists when built by gradle, e.g. it is absent when running from an ide without the task
+  private static CardCatalog loadGenerated() {
+    try {
+      return (CardCatalog) Class.forName(GENERATED_CATALOG_CLASS).getDeclaredConstructor().newInstance();
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class Holder {
+
+    private static final CardCatalog catalog;
+
+    static {
+      try {
+        catalog = load();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
@@ -3,6 +3,7 @@ package org.magcube.card;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import org.magcube.enums.CardType;
@@ -14,21 +15,46 @@ public class CardData {
   public static final List<ResourceCard> levelTwoResource;
   public static final List<BuildingCard> building;
   public static final HashMap<CardType, Integer> maxTypeId = new HashMap<>();
+  public static final int NO_VALUE = -1;
+
+  // value of each card indexed by packed card identity, NO_VALUE if the identity is not in the card data
+  private static final int[] valueTable = new int[CardIdentity.NUM_OF_PACKED_VALUES];
+  // bit per packed card identity, set if the type id is between 1 and the max type id of its card type
+  private static final long[] validTable = new long[(CardIdentity.NUM_OF_PACKED_VALUES + Long.SIZE - 1) / Long.SIZE];
 
   static {
-    try {
-      basicResource = loadCard(ResourceCard.class, "/type0.json");
-      levelOneResource = loadCard(ResourceCard.class, "/type1.json");
-      levelTwoResource = loadCard(ResourceCard.class, "/type2.json");
-      building = loadCard(BuildingCard.class, "/type3.json");
-
-      maxTypeId.put(CardType.BASIC_RESOURCE, maxTypeIdInList(basicResource));
-      maxTypeId.put(CardType.LEVEL_ONE_RESOURCE, maxTypeIdInList(levelOneResource));
-      maxTypeId.put(CardType.LEVEL_TWO_RESOURCE, maxTypeIdInList(levelTwoResource));
-      maxTypeId.put(CardType.BUILDING, maxTypeIdInList(building));
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+    var catalog = CardCatalogs.get();
+    basicResource = catalog.basicResource();
+    levelOneResource = catalog.levelOneResource();
+    levelTwoResource = catalog.levelTwoResource();
+    building = catalog.building();
+
+    maxTypeId.put(CardType.BASIC_RESOURCE, maxTypeIdInList(basicResource));
+    maxTypeId.put(CardType.LEVEL_ONE_RESOURCE, maxTypeIdInList(levelOneResource));
+    maxTypeId.put(CardType.LEVEL_TWO_RESOURCE, maxTypeIdInList(levelTwoResource));
+    maxTypeId.put(CardType.BUILDING, maxTypeIdInList(building));
+
+    if (maxTypeId.values().stream().anyMatch(x -> x > CardIdentity.MAX_PACKABLE_TYPE_ID)) {
+      throw new IllegalStateException("Type id exceeds the packable range: " + maxTypeId);
     }
+
+    for (var entry : maxTypeId.entrySet()) {
+      for (var typeId = 1; typeId <= entry.getValue(); typeId++) {
+        var packed = CardIdentity.pack(entry.getKey(), typeId);
+        validTable[packed >>> 6] |= 1L << packed;
+      }
+    }
+
+    Arrays.fill(valueTable, NO_VALUE);
+    putValues(basicResource);
+    putValues(levelOneResource);
+    putValues(levelTwoResource);
+    putValues(building);
+
+    basicResource.forEach(Card::compileMatchers);
+    levelOneResource.forEach(Card::compileMatchers);
+    levelTwoResource.forEach(Card::compileMatchers);
+    building.forEach(Card::compileMatchers);
   }
 
   public static <T extends Card> List<T> loadCard(Class<T> clazz, String filename) throws IOException {
@@ -37,6 +63,22 @@ public class CardData {
     return objectMapper.readValue(inputStream, objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
   }
 
+  private static void putValues(List<? extends Card> cards) {
+    for (var card : cards) {
+      valueTable[card.getCardIdentity().packed()] = card.getValue();
+    }
+  }
+
+  public static int valueOf(CardIdentity cardIdentity) {
+    var packed = cardIdentity.packed();
+    return packed == CardIdentity.INVALID_PACKED ? NO_VALUE : valueTable[packed];
+  }
+
+  public static boolean isValid(CardIdentity cardIdentity) {
+    var packed = cardIdentity.packed();
+    return packed != CardIdentity.INVALID_PACKED && (validTable[packed >>> 6] & 1L << packed) != 0;
+  }
+
   private static int maxTypeIdInList(List<? extends Card> cards) {
     //noinspection OptionalGetWithoutIsPresent
     return cards.stream().map(Card::typeId).max(Integer::compare).get();
@@ -1,61 +1,124 @@
 package org.magcube.card;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ObjLongConsumer;
+import java.util.function.UnaryOperator;
+import org.magcube.enums.CardType;
 import org.magcube.enums.NumOfPlayers;
 import org.magcube.exception.CardQuantityException;
 
 public class CardDeck {
 
-  private static final HashMap<NumOfPlayers, CardDeck> data = new HashMap<>();
+  private static final ObjLongConsumer<NumOfPlayers> NO_LISTENER = (numOfPlayers, nanos) -> {
+  };
+
+  // reports the build time in nanoseconds of each deck variant, once on the first get after it is built
+  private static volatile ObjLongConsumer<NumOfPlayers> buildTimeListener = NO_LISTENER;
 
   public final List<ResourceCard> basicResource;
   public final List<ResourceCard> levelOneResource;
   public final List<ResourceCard> levelTwoResource;
   public final List<BuildingCard> building;
 
-  static {
+  // the composition of the deck, each entry is an index into the card data list of the same card type
+  private final int[][] templates = new int[CardType.NUM_OF_CARD_TYPES][];
+  private final NumOfPlayers numOfPlayers;
+  private final long buildNanos;
+  private final AtomicBoolean buildTimeReported = new AtomicBoolean();
+
+  // each variant is built on first use by its own holder class, so the jvm guarantees it is built once without locking afterwards
+  public static CardDeck get(NumOfPlayers numOfPlayers) {
+    var deck = switch (numOfPlayers) {
+      case TWO -> TwoPlayersHolder.deck;
+      case THREE -> ThreePlayersHolder.deck;
+      case FOUR -> FourPlayersHolder.deck;
+    };
+    if (!deck.buildTimeReported.get()) {
+      deck.reportBuildTime();
+    }
+    return deck;
+  }
+
+  public static void setBuildTimeListener(ObjLongConsumer<NumOfPlayers> listener) {
+    buildTimeListener = listener == null ? NO_LISTENER : listener;
+  }
+
+  static CardDeck build(NumOfPlayers numOfPlayers) {
     try {
-      data.put(NumOfPlayers.TWO, new CardDeck(NumOfPlayers.TWO));
-      data.put(NumOfPlayers.THREE, new CardDeck(NumOfPlayers.THREE));
-      data.put(NumOfPlayers.FOUR, new CardDeck(NumOfPlayers.FOUR));
-    } catch (Exception e) {
+      return new CardDeck(numOfPlayers);
+    } catch (CardQuantityException e) {
       throw new RuntimeException(e);
     }
   }
 
-  public static CardDeck get(NumOfPlayers numOfPlayers) {
-    return data.get(numOfPlayers);
+  // called outside of the holder initialization, so a failing listener cannot break the holder
+  void reportBuildTime() {
+    if (buildTimeReported.compareAndSet(false, true)) {
+      buildTimeListener.accept(numOfPlayers, buildNanos);
+    }
   }
 
-  private static <T extends Card> List<T> deepCloneCard(T card, int quantity, Class<T> clazz) throws JsonProcessingException {
-    List<T> cards = new ArrayList<>();
-    ObjectMapper objectMapper = new ObjectMapper();
-    String json = objectMapper.writeValueAsString(card);
-    for (int i = 0; i < quantity; i++) {
-      cards.add(objectMapper.readValue(json, clazz));
+  private static int[] template(List<? extends Card> uniqueCards, NumOfPlayers numOfPlayers) throws CardQuantityException {
+    var quantities = new int[uniqueCards.size()];
+    var size = 0;
+    for (int i = 0; i < uniqueCards.size(); i++) {
+      var card = uniqueCards.get(i);
+      quantities[i] = CardQuantity.getQuantity(card.cardType(), card.typeId(), numOfPlayers);
+      size += quantities[i];
+    }
+    var template = new int[size];
+    var position = 0;
+    for (int i = 0; i < quantities.length; i++) {
+      for (int j = 0; j < quantities[i]; j++) {
+        template[position++] = i;
+      }
     }
-    return cards;
+    return template;
   }
 
-  private static <T extends Card> List<T> getCards(List<T> uniqueCards, NumOfPlayers numOfPlayers, Class<T> clazz)
-      throws CardQuantityException, JsonProcessingException {
-    List<T> cards = new ArrayList<>();
-    for (T card : uniqueCards) {
-      int quantity = CardQuantity.getQuantity(card.cardType(), card.typeId(), numOfPlayers);
-      cards.addAll(deepCloneCard(card, quantity, clazz));
+  // every card is a distinct instance sharing the definition of the card data, no deep clone is needed
+  private static <T extends Card> List<T> instantiate(List<T> uniqueCards, int[] template, UnaryOperator<T> copier) {
+    List<T> cards = new ArrayList<>(template.length);
+    for (var index : template) {
+      cards.add(copier.apply(uniqueCards.get(index)));
     }
     return Collections.unmodifiableList(cards);
   }
 
-  private CardDeck(NumOfPlayers numOfPlayers) throws JsonProcessingException, CardQuantityException {
-    this.basicResource = getCards(CardData.basicResource, numOfPlayers, ResourceCard.class);
-    this.levelOneResource = getCards(CardData.levelOneResource, numOfPlayers, ResourceCard.class);
-    this.levelTwoResource = getCards(CardData.levelTwoResource, numOfPlayers, ResourceCard.class);
-    this.building = getCards(CardData.building, numOfPlayers, BuildingCard.class);
+  private CardDeck(NumOfPlayers numOfPlayers) throws CardQuantityException {
+    var start = System.nanoTime();
+    templates[CardType.BASIC_RESOURCE.getValue()] = template(CardData.basicResource, numOfPlayers);
+    templates[CardType.LEVEL_ONE_RESOURCE.getValue()] = template(CardData.levelOneResource, numOfPlayers);
+    templates[CardType.LEVEL_TWO_RESOURCE.getValue()] = template(CardData.levelTwoResource, numOfPlayers);
+    templates[CardType.BUILDING.getValue()] = template(CardData.building, numOfPlayers);
+
+    this.basicResource = instantiate(CardData.basicResource, templates[CardType.BASIC_RESOURCE.getValue()], ResourceCard::new);
+    this.levelOneResource = instantiate(CardData.levelOneResource, templates[CardType.LEVEL_ONE_RESOURCE.getValue()], ResourceCard::new);
+    this.levelTwoResource = instantiate(CardData.levelTwoResource, templates[CardType.LEVEL_TWO_RESOURCE.getValue()], ResourceCard::new);
+    this.building = instantiate(CardData.building, templates[CardType.BUILDING.getValue()], BuildingCard::new);
+    this.numOfPlayers = numOfPlayers;
+    this.buildNanos = System.nanoTime() - start;
+  }
+
+  public int[] template(CardType cardType) {
+    return templates[cardType.getValue()].clone();
+  }
+
+  private static class TwoPlayersHolder {
+
+    private static final CardDeck deck = build(NumOfPlayers.TWO);
+  }
+
+  private static class ThreePlayersHolder {
+
+    private static final CardDeck deck = build(NumOfPlayers.THREE);
+  }
+
+  private static class FourPlayersHolder {
+
+    private static final CardDeck deck = build(NumOfPlayers.FOUR);
   }
 }
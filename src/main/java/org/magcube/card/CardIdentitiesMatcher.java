@@ -0,0 +1,114 @@
+package org.magcube.card;
+
+import java.util.List;
+
+// compiled form of cost or capital options, the outer layer is OR, the inner layer is AND
+public final class CardIdentitiesMatcher {
+
+  private static final CardIdentitiesMatcher NO_OPTION = new CardIdentitiesMatcher(new CardIdentity[0][], new long[0]);
+
+  private final CardIdentity[][] options;
+  private final long[] signatures;
+
+  private CardIdentitiesMatcher(CardIdentity[][] options, long[] signatures) {
+    this.options = options;
+    this.signatures = signatures;
+  }
+
+  public static CardIdentitiesMatcher compile(CardIdentity[][] options) {
+    if (options == null || options.length == 0) {
+      return NO_OPTION;
+    }
+    var copiedOptions = new CardIdentity[options.length][];
+    var signatures = new long[options.length];
+    for (int i = 0; i < options.length; i++) {
+      copiedOptions[i] = canonicalOption(options[i]);
+      signatures[i] = Cards.signatureOf(copiedOptions[i]);
+    }
+    return new CardIdentitiesMatcher(copiedOptions, signatures);
+  }
+
+  public static CardIdentitiesMatcher compile(CardIdentity[] option) {
+    return option == null ? NO_OPTION : compile(new CardIdentity[][]{option});
+  }
+
+  private static CardIdentity[] canonicalOption(CardIdentity[] option) {
+    if (option == null) {
+      return new CardIdentity[0];
+    }
+    var canonical = new CardIdentity[option.length];
+    for (int i = 0; i < option.length; i++) {
+      canonical[i] = CardIdentity.of(option[i].cardType(), option[i].typeId());
+    }
+    return canonical;
+  }
+
+  public int numOfOptions() {
+    return options.length;
+  }
+
+  public CardIdentity[] option(int index) {
+    return options[index].clone();
+  }
+
+  public long signature(int index) {
+    return signatures[index];
+  }
+
+  public boolean match(List<CardIdentity> cardIdentities) {
+    var size = cardIdentities.size();
+    if (size == 0 || options.length == 0) {
+      return false;
+    }
+    var signature = Cards.signatureOf(cardIdentities);
+    for (int i = 0; i < options.length; i++) {
+      // the signature check rejects almost every mismatch, the exact check guards against collisions
+      if (options[i].length == size && signatures[i] == signature && isSameMultiset(options[i], cardIdentities)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSameMultiset(CardIdentity[] option, List<CardIdentity> cardIdentities) {
+    for (var cardIdentity : option) {
+      if (count(option, cardIdentity) != count(cardIdentities, cardIdentity)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean isSameMultiset(List<CardIdentity> option, List<CardIdentity> cardIdentities) {
+    if (option.size() != cardIdentities.size()) {
+      return false;
+    }
+    for (int i = 0; i < option.size(); i++) {
+      var cardIdentity = option.get(i);
+      if (count(option, cardIdentity) != count(cardIdentities, cardIdentity)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int count(CardIdentity[] cardIdentities, CardIdentity target) {
+    var count = 0;
+    for (var cardIdentity : cardIdentities) {
+      if (target.equals(cardIdentity)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static int count(List<CardIdentity> cardIdentities, CardIdentity target) {
+    var count = 0;
+    for (int i = 0; i < cardIdentities.size(); i++) {
+      if (target.equals(cardIdentities.get(i))) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -4,6 +4,60 @@ import org.magcube.enums.CardType;
 
 public record CardIdentity(CardType cardType, int typeId) implements Comparable<CardIdentity> {
 
+  // packed form: card type in the high bits, type id in the low bits
+  public static final int TYPE_ID_BITS = 8;
+  public static final int MAX_PACKABLE_TYPE_ID = (1 << TYPE_ID_BITS) - 1;
+  public static final int NUM_OF_PACKED_VALUES = CardType.NUM_OF_CARD_TYPES << TYPE_ID_BITS;
+  public static final int INVALID_PACKED = -1;
+
+  // canonical instances of every packable identity, sized from the packed bounds so it does not depend on CardData
+  private static final CardIdentity[] interned = new CardIdentity[NUM_OF_PACKED_VALUES];
+
+  static {
+    for (var cardType : CardType.values()) {
+      for (var typeId = 0; typeId <= MAX_PACKABLE_TYPE_ID; typeId++) {
+        interned[pack(cardType, typeId)] = new CardIdentity(cardType, typeId);
+      }
+    }
+  }
+
+  // returns the canonical instance for packable identities, a new instance otherwise
+  public static CardIdentity of(CardType cardType, int typeId) {
+    var packed = pack(cardType, typeId);
+    return packed != INVALID_PACKED ? interned[packed] : new CardIdentity(cardType, typeId);
+  }
+
+  public static int pack(CardType cardType, int typeId) {
+    if (cardType == null || typeId < 0 || typeId > MAX_PACKABLE_TYPE_ID) {
+      return INVALID_PACKED;
+    }
+    return cardType.getValue() << TYPE_ID_BITS | typeId;
+  }
+
+  public static CardIdentity fromPacked(int packed) {
+    if (packed < 0 || packed >= NUM_OF_PACKED_VALUES) {
+      throw new IllegalArgumentException("Invalid packed card identity: " + packed);
+    }
+    return of(CardType.fromValue(packed >>> TYPE_ID_BITS), packed & MAX_PACKABLE_TYPE_ID);
+  }
+
+  public int packed() {
+    return pack(cardType, typeId);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    return o instanceof CardIdentity other && cardType == other.cardType && typeId == other.typeId;
+  }
+
+  @Override
+  public int hashCode() {
+    return (cardType == null ? -1 : cardType.getValue()) << TYPE_ID_BITS ^ typeId;
+  }
+
   @Override
   public int compareTo(CardIdentity o) {
     int compareByCardType = this.cardType.compareTo(o.cardType);
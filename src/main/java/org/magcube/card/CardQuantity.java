@@ -16,15 +16,47 @@ public record CardQuantity(CardIdentity cardIdentity, int twoPlayers, int threeP
   public static final List<CardQuantity> levelTwoResource;
   public static final List<CardQuantity> building;
 
+  // [cardType][typeId][numOfPlayers], the row is null if the card has no quantity data
+  // built once with the quantity lists, the catalog is loaded once per process like CardData and CardDeck,
+  // so a modified catalog is picked up by a new process rather than reloaded in place
+  private static final int[][][] quantityTable = new int[CardType.NUM_OF_CARD_TYPES][][];
+
   static {
-    try {
-      basicResource = loadCard("/type0-quantity.json");
-      levelOneResource = loadCard("/type1-quantity.json");
-      levelTwoResource = loadCard("/type2-quantity.json");
-      building = loadCard("/type3-quantity.json");
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+    var catalog = CardCatalogs.get();
+    basicResource = catalog.basicResourceQuantity();
+    levelOneResource = catalog.levelOneResourceQuantity();
+    levelTwoResource = catalog.levelTwoResourceQuantity();
+    building = catalog.buildingQuantity();
+
+    quantityTable[CardType.BASIC_RESOURCE.getValue()] = quantityRows(CardType.BASIC_RESOURCE, basicResource);
+    quantityTable[CardType.LEVEL_ONE_RESOURCE.getValue()] = quantityRows(CardType.LEVEL_ONE_RESOURCE, levelOneResource);
+    quantityTable[CardType.LEVEL_TWO_RESOURCE.getValue()] = quantityRows(CardType.LEVEL_TWO_RESOURCE, levelTwoResource);
+    quantityTable[CardType.BUILDING.getValue()] = quantityRows(CardType.BUILDING, building);
+  }
+
+  private static int[][] quantityRows(CardType cardType, List<CardQuantity> cardQuantities) {
+    var maxTypeId = -1;
+    for (var cardQuantity : cardQuantities) {
+      if (cardQuantity.cardType() == cardType) {
+        maxTypeId = Math.max(maxTypeId, cardQuantity.typeId());
+      }
+    }
+
+    var numOfPlayersValues = NumOfPlayers.values();
+    var rows = new int[maxTypeId + 1][];
+    for (var cardQuantity : cardQuantities) {
+      var typeId = cardQuantity.typeId();
+      // keeps the first entry of a duplicated card, the same as searching the list
+      if (cardQuantity.cardType() != cardType || typeId < 0 || rows[typeId] != null) {
+        continue;
+      }
+      var row = new int[numOfPlayersValues.length];
+      for (var numOfPlayers : numOfPlayersValues) {
+        row[numOfPlayers.ordinal()] = cardQuantity.getQuantityForNumOfPlayers(numOfPlayers);
+      }
+      rows[typeId] = row;
     }
+    return rows;
   }
 
   public static List<CardQuantity> loadCard(String filename) throws IOException {
@@ -35,22 +67,11 @@ public record CardQuantity(CardIdentity cardIdentity, int twoPlayers, int threeP
   }
 
   public static int getQuantity(CardType cardType, int typeId, NumOfPlayers numOfPlayers) throws CardQuantityException {
-    List<CardQuantity> cardQuantities = switch (cardType) {
-      case BASIC_RESOURCE -> basicResource;
-      case LEVEL_ONE_RESOURCE -> levelOneResource;
-      case LEVEL_TWO_RESOURCE -> levelTwoResource;
-      case BUILDING -> building;
-    };
-
-    var cardQuantity = cardQuantities.stream()
-        .filter(x -> x.cardType() == cardType && x.typeId() == typeId)
-        .findFirst();
-
-    if (cardQuantity.isEmpty()) {
+    var rows = quantityTable[cardType.getValue()];
+    if (typeId < 0 || typeId >= rows.length || rows[typeId] == null) {
       throw new CardQuantityException(cardType, typeId);
     }
-
-    return cardQuantity.get().getQuantityForNumOfPlayers(numOfPlayers);
+    return rows[typeId][numOfPlayers.ordinal()];
   }
 
   // don't use getCardType as name as Jackson will parse it is a field
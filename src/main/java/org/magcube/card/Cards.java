@@ -1,6 +1,7 @@
 package org.magcube.card;
 
 import java.util.Arrays;
+import java.util.List;
 
 public class Cards {
 
@@ -28,4 +29,30 @@ public class Cards {
   public static boolean isTwoDimCardIdentitiesMatch(CardIdentity[][] actual, CardIdentity[] checkingCardIdentities) {
     return Arrays.stream(actual).anyMatch(option -> Cards.isCardIdentitiesSame(option, checkingCardIdentities));
   }
+
+  // order independent signature of a multiset of card identities, the sum of a 64-bit mix of each identity
+  public static long signatureOf(CardIdentity cardIdentity) {
+    var cardType = cardIdentity.cardType();
+    long z = (long) (cardType == null ? -1 : cardType.getValue()) << 32 | (cardIdentity.typeId() & 0xffffffffL);
+    z += 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  public static long signatureOf(CardIdentity[] cardIdentities) {
+    long signature = 0;
+    for (var cardIdentity : cardIdentities) {
+      signature += signatureOf(cardIdentity);
+    }
+    return signature;
+  }
+
+  public static long signatureOf(List<CardIdentity> cardIdentities) {
+    long signature = 0;
+    for (int i = 0; i < cardIdentities.size(); i++) {
+      signature += signatureOf(cardIdentities.get(i));
+    }
+    return signature;
+  }
 }
@@ -0,0 +1,115 @@
+package org.magcube.card;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class JsonCardCatalog implements CardCatalog {
+
+  private static final TypeReference<List<CardQuantity>> quantityListType = new TypeReference<>() {
+  };
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final List<ResourceCard> basicResource;
+  private final List<ResourceCard> levelOneResource;
+  private final List<ResourceCard> levelTwoResource;
+  private final List<BuildingCard> building;
+  // kept as trees, converting them creates CardQuantity which may not be initialized yet
+  private final JsonNode basicResourceQuantity;
+  private final JsonNode levelOneResourceQuantity;
+  private final JsonNode levelTwoResourceQuantity;
+  private final JsonNode buildingQuantity;
+
+  private JsonCardCatalog(JsonOpener opener) throws IOException {
+    basicResource = loadCard(opener, ResourceCard.class, "type0.json");
+    levelOneResource = loadCard(opener, ResourceCard.class, "type1.json");
+    levelTwoResource = loadCard(opener, ResourceCard.class, "type2.json");
+    building = loadCard(opener, BuildingCard.class, "type3.json");
+    basicResourceQuantity = loadTree(opener, "type0-quantity.json");
+    levelOneResourceQuantity = loadTree(opener, "type1-quantity.json");
+    levelTwoResourceQuantity = loadTree(opener, "type2-quantity.json");
+    buildingQuantity = loadTree(opener, "type3-quantity.json");
+  }
+
+  public static JsonCardCatalog fromClasspath() throws IOException {
+    return new JsonCardCatalog(filename -> {
+      var inputStream = JsonCardCatalog.class.getResourceAsStream("/" + filename);
+      if (inputStream == null) {
+        throw new FileNotFoundException(filename);
+      }
+      return inputStream;
+    });
+  }
+
+  // for modded catalogs, the directory must contain all of type*.json and type*-quantity.json
+  public static JsonCardCatalog fromDirectory(Path directory) throws IOException {
+    return new JsonCardCatalog(filename -> Files.newInputStream(directory.resolve(filename)));
+  }
+
+  private <T extends Card> List<T> loadCard(JsonOpener opener, Class<T> clazz, String filename) throws IOException {
+    try (var inputStream = opener.open(filename)) {
+      return objectMapper.readValue(inputStream, objectMapper.getTypeFactory().constructCollectionType(List.class, clazz));
+    }
+  }
+
+  private JsonNode loadTree(JsonOpener opener, String filename) throws IOException {
+    try (var inputStream = opener.open(filename)) {
+      return objectMapper.readTree(inputStream);
+    }
+  }
+
+  private List<CardQuantity> toQuantities(JsonNode tree) {
+    return objectMapper.convertValue(tree, quantityListType);
+  }
+
+  @Override
+  public List<ResourceCard> basicResource() {
+    return basicResource;
+  }
+
+  @Override
+  public List<ResourceCard> levelOneResource() {
+    return levelOneResource;
+  }
+
+  @Override
+  public List<ResourceCard> levelTwoResource() {
+    return levelTwoResource;
+  }
+
+  @Override
+  public List<BuildingCard> building() {
+    return building;
+  }
+
+  @Override
+  public List<CardQuantity> basicResourceQuantity() {
+    return toQuantities(basicResourceQuantity);
+  }
+
+  @Override
+  public List<CardQuantity> levelOneResourceQuantity() {
+    return toQuantities(levelOneResourceQuantity);
+  }
+
+  @Override
+  public List<CardQuantity> levelTwoResourceQuantity() {
+    return toQuantities(levelTwoResourceQuantity);
+  }
+
+  @Override
+  public List<CardQuantity> buildingQuantity() {
+    return toQuantities(buildingQuantity);
+  }
+
+  private interface JsonOpener {
+
+    InputStream open(String filename) throws IOException;
+  }
+}
@@ -0,0 +1,9 @@
+package org.magcube.card;
+
+import java.util.List;
+import org.magcube.enums.RecipeType;
+
+// cardIdentities is the option of cost or capital of the card which is satisfied
+public record Recipe(Card card, RecipeType recipeType, List<CardIdentity> cardIdentities) {
+
+}
@@ -0,0 +1,130 @@
+package org.magcube.card;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.magcube.enums.RecipeType;
+
+// reverse index from a multiset of card identities to the cost and capital options it satisfies
+public class RecipeIndex {
+
+  private final Map<Long, List<Recipe>> recipesBySignature = new HashMap<>();
+  private int maxOptionSize;
+
+  public RecipeIndex(List<ResourceCard> resourceCards, List<BuildingCard> buildingCards) {
+    for (var card : resourceCards) {
+      put(card, RecipeType.COST, card.costMatcher());
+      put(card, RecipeType.CAPITAL, card.capitalMatcher());
+    }
+    for (var card : buildingCards) {
+      put(card, RecipeType.COST, card.costMatcher());
+      put(card, RecipeType.EFFECT_COST, card.effectCostMatcher());
+      put(card, RecipeType.EFFECT_CAPITAL, card.effectCapitalMatcher());
+    }
+  }
+
+  public static RecipeIndex catalog() {
+    return CatalogHolder.catalog;
+  }
+
+  private void put(Card card, RecipeType recipeType, CardIdentitiesMatcher matcher) {
+    for (int i = 0; i < matcher.numOfOptions(); i++) {
+      var option = matcher.option(i);
+      if (option.length == 0) {
+        continue;
+      }
+      var recipe = new Recipe(card, recipeType, List.of(option));
+      recipesBySignature.computeIfAbsent(matcher.signature(i), k -> new ArrayList<>()).add(recipe);
+      maxOptionSize = Math.max(maxOptionSize, option.length);
+    }
+  }
+
+  public int getMaxOptionSize() {
+    return maxOptionSize;
+  }
+
+  // recipes whose option is exactly the given multiset
+  public List<Recipe> recipesFor(List<CardIdentity> cardIdentities) {
+    if (cardIdentities.isEmpty() || cardIdentities.size() > maxOptionSize) {
+      return Collections.emptyList();
+    }
+    var candidates = recipesBySignature.get(Cards.signatureOf(cardIdentities));
+    if (candidates == null) {
+      return Collections.emptyList();
+    }
+    var recipes = new ArrayList<Recipe>();
+    for (var recipe : candidates) {
+      if (CardIdentitiesMatcher.isSameMultiset(recipe.cardIdentities(), cardIdentities)) {
+        recipes.add(recipe);
+      }
+    }
+    return recipes;
+  }
+
+  // recipes whose option is contained in the given multiset, e.g. everything a hand can produce or activate
+  public List<Recipe> recipesWithin(List<CardIdentity> cardIdentities) {
+    var distinct = new ArrayList<CardIdentity>();
+    var counts = new ArrayList<Integer>();
+    for (var cardIdentity : cardIdentities) {
+      var index = distinct.indexOf(cardIdentity);
+      if (index < 0) {
+        distinct.add(cardIdentity);
+        counts.add(1);
+      } else {
+        counts.set(index, counts.get(index) + 1);
+      }
+    }
+
+    var recipes = new ArrayList<Recipe>();
+    collectRecipesWithin(distinct, counts, 0, new ArrayList<>(), 0L, recipes);
+    return recipes;
+  }
+
+  // enumerates each distinct sub-multiset once by choosing how many copies of each distinct identity to take
+  private void collectRecipesWithin(List<CardIdentity> distinct, List<Integer> counts, int index, List<CardIdentity> subset,
+      long signature, List<Recipe> recipes) {
+    if (index == distinct.size()) {
+      if (subset.isEmpty()) {
+        return;
+      }
+      var candidates = recipesBySignature.get(signature);
+      if (candidates != null) {
+        for (var recipe : candidates) {
+          if (CardIdentitiesMatcher.isSameMultiset(recipe.cardIdentities(), subset)) {
+            recipes.add(recipe);
+          }
+        }
+      }
+      return;
+    }
+
+    var cardIdentity = distinct.get(index);
+    var cardSignature = Cards.signatureOf(cardIdentity);
+    var sizeBefore = subset.size();
+    for (int taken = 0; taken <= counts.get(index) && sizeBefore + taken <= maxOptionSize; taken++) {
+      if (taken > 0) {
+        subset.add(cardIdentity);
+        signature += cardSignature;
+      }
+      collectRecipesWithin(distinct, counts, index + 1, subset, signature, recipes);
+    }
+    while (subset.size() > sizeBefore) {
+      subset.remove(subset.size() - 1);
+    }
+  }
+
+  private static class CatalogHolder {
+
+    private static final RecipeIndex catalog = new RecipeIndex(allResourceCards(), CardData.building);
+
+    private static List<ResourceCard> allResourceCards() {
+      var resourceCards = new ArrayList<ResourceCard>();
+      resourceCards.addAll(CardData.basicResource);
+      resourceCards.addAll(CardData.levelOneResource);
+      resourceCards.addAll(CardData.levelTwoResource);
+      return resourceCards;
+    }
+  }
+}
@@ -1,21 +1,29 @@
 package org.magcube.card;
 
+import java.util.Arrays;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.Builder;
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @NoArgsConstructor
 @ToString(callSuper = true)
-@EqualsAndHashCode(callSuper = true)
 @Getter
 public class ResourceCard extends Card {
 
   private CardIdentity[][] cost;
   private CardIdentity[] capital;
 
+  // compiled lazily, as Jackson fills the fields after construction
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private CardIdentitiesMatcher costMatcher;
+  @Getter(AccessLevel.NONE)
+  @ToString.Exclude
+  private CardIdentitiesMatcher capitalMatcher;
+
   @Builder
   public ResourceCard(CardIdentity cardIdentity, String name, int value, CardIdentity[][] cost, CardIdentity[] capital) {
     super(cardIdentity, name, value);
@@ -23,11 +31,45 @@ public class ResourceCard extends Card {
     this.capital = capital;
   }
 
+  public ResourceCard(ResourceCard card) {
+    super(card);
+    this.cost = card.cost;
+    this.capital = card.capital;
+    this.costMatcher = card.costMatcher;
+    this.capitalMatcher = card.capitalMatcher;
+  }
+
+  @Override
+  public boolean valueEquals(Card card) {
+    return super.valueEquals(card) && card instanceof ResourceCard other && Arrays.deepEquals(cost, other.cost)
+        && Arrays.equals(capital, other.capital);
+  }
+
+  @Override
+  void compileMatchers() {
+    costMatcher = CardIdentitiesMatcher.compile(cost);
+    capitalMatcher = CardIdentitiesMatcher.compile(capital);
+  }
+
+  public CardIdentitiesMatcher costMatcher() {
+    if (costMatcher == null) {
+      costMatcher = CardIdentitiesMatcher.compile(cost);
+    }
+    return costMatcher;
+  }
+
+  public CardIdentitiesMatcher capitalMatcher() {
+    if (capitalMatcher == null) {
+      capitalMatcher = CardIdentitiesMatcher.compile(capital);
+    }
+    return capitalMatcher;
+  }
+
   public boolean costMatch(List<CardIdentity> cardIdentities) {
-    return Cards.isTwoDimCardIdentitiesMatch(cost, cardIdentities.toArray(new CardIdentity[0]));
+    return costMatcher().match(cardIdentities);
   }
 
   public boolean capitalMatch(List<CardIdentity> cardIdentities) {
-    return Cards.isOneDimCardIdentitiesMatch(capital, cardIdentities.toArray(new CardIdentity[0]));
+    return capitalMatcher().match(cardIdentities);
   }
 }
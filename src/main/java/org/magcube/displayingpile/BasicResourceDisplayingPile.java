@@ -1,27 +1,62 @@
 package org.magcube.displayingpile;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 import org.magcube.card.CardIdentity;
 import org.magcube.card.ResourceCard;
 import org.magcube.enums.CardType;
 
 public class BasicResourceDisplayingPile implements DisplayingPile<ResourceCard> {
 
+  private static final int NO_SLOT = -1;
+
   private final CardType cardType = CardType.BASIC_RESOURCE;
   private final Map<Integer, List<ResourceCard>> availableCards = new HashMap<>();
   private final int maxDisplayingSize;
+  // type ids in the order of displaying
+  private final List<Integer> typeIds;
+  // slot of each type id, NO_SLOT if the type id is not in the deck
+  private final int[] slotOfTypeId;
+  // immutable copy of available cards, rebuilt after available cards change
+  private List<List<ResourceCard>> displaying;
+  // changes whenever available cards change, reservations of an older version are taken by searching
+  private int version;
+  private Consumer<PileEvent> listener = PileEvent.NO_LISTENER;
 
   public BasicResourceDisplayingPile(List<ResourceCard> deck) {
     for (var card : deck) {
       availableCards.computeIfAbsent(card.typeId(), k -> new ArrayList<>()).add(card);
     }
     maxDisplayingSize = availableCards.size();
+    typeIds = new ArrayList<>(availableCards.keySet());
+    slotOfTypeId = new int[typeIds.stream().mapToInt(Integer::intValue).max().orElse(-1) + 1];
+    Arrays.fill(slotOfTypeId, NO_SLOT);
+    for (int slot = 0; slot < typeIds.size(); slot++) {
+      slotOfTypeId[typeIds.get(slot)] = slot;
+    }
+  }
+
+  private BasicResourceDisplayingPile(BasicResourceDisplayingPile other) {
+    for (var entry : other.availableCards.entrySet()) {
+      availableCards.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+    }
+    maxDisplayingSize = other.maxDisplayingSize;
+    typeIds = other.typeIds;
+    slotOfTypeId = other.slotOfTypeId;
+    displaying = other.displaying;
+    version = other.version;
+  }
+
+  @Override
+  public BasicResourceDisplayingPile copy(RandomGenerator random) {
+    return new BasicResourceDisplayingPile(this);
   }
 
   @Override
@@ -31,7 +66,10 @@ public class BasicResourceDisplayingPile implements DisplayingPile<ResourceCard>
 
   @Override
   public List<List<ResourceCard>> getDisplaying() {
-    return new ArrayList<>(availableCards.values());
+    if (displaying == null) {
+      displaying = availableCards.values().stream().map(List::copyOf).toList();
+    }
+    return displaying;
   }
 
   @Override
@@ -59,51 +97,107 @@ public class BasicResourceDisplayingPile implements DisplayingPile<ResourceCard>
     return 0;
   }
 
-  private Optional<ResourceCard> cardInDisplay(CardIdentity cardIdentity) {
-    List<ResourceCard> cards = availableCards.getOrDefault(cardIdentity.typeId(), Collections.emptyList());
-    return cards.isEmpty() ? Optional.empty() : Optional.of(cards.get(0));
+  private int slotOf(CardIdentity cardIdentity) {
+    var typeId = cardIdentity.typeId();
+    return typeId >= 0 && typeId < slotOfTypeId.length ? slotOfTypeId[typeId] : NO_SLOT;
+  }
+
+  private List<ResourceCard> cardsOfSlot(int slot) {
+    return availableCards.get(typeIds.get(slot));
+  }
+
+  private Optional<List<ResourceCard>> cardInDisplay(CardIdentity cardIdentity) {
+    var slot = slotOf(cardIdentity);
+    if (slot == NO_SLOT || cardsOfSlot(slot).isEmpty()) {
+      return Optional.empty();
+    }
+    var card = cardsOfSlot(slot).get(0);
+    return Optional.of(new ReservedCards<>(this, version, Collections.singletonList(card), new int[]{slot}));
   }
 
   @Override
   public Optional<List<ResourceCard>> cardsInDisplay(List<CardIdentity> cardIdentities) {
     if (cardIdentities.size() == 1) {
-      return cardInDisplay(cardIdentities.get(0)).map(Collections::singletonList);
+      return cardInDisplay(cardIdentities.get(0));
     }
 
     var cardsInDisplaying = new ArrayList<ResourceCard>();
+    var slots = new int[cardIdentities.size()];
 
-    var quantityMap = new HashMap<Integer, Integer>();
-    cardIdentities.forEach(cardIdentity -> quantityMap.compute(cardIdentity.typeId(), (k, v) -> v == null ? 1 : v + 1));
-
-    for (Entry<Integer, Integer> entry : quantityMap.entrySet()) {
-      var typeId = entry.getKey();
-      var quantity = entry.getValue();
-      var cards = availableCards.get(typeId);
-      if (cards == null || cards.size() < quantity) {
+    for (int i = 0; i < cardIdentities.size(); i++) {
+      var cardIdentity = cardIdentities.get(i);
+      if (cardIdentities.subList(0, i).contains(cardIdentity)) {
+        continue;
+      }
+      var quantity = 0;
+      for (int j = i; j < cardIdentities.size(); j++) {
+        if (cardIdentity.equals(cardIdentities.get(j))) {
+          quantity++;
+        }
+      }
+      var slot = slotOf(cardIdentity);
+      if (slot == NO_SLOT || cardsOfSlot(slot).size() < quantity) {
         return Optional.empty();
       }
-      cardsInDisplaying.addAll(cards.subList(0, quantity));
-
+      Arrays.fill(slots, cardsInDisplaying.size(), cardsInDisplaying.size() + quantity, slot);
+      cardsInDisplaying.addAll(cardsOfSlot(slot).subList(0, quantity));
     }
 
-    return Optional.of(cardsInDisplaying);
+    return Optional.of(new ReservedCards<>(this, version, cardsInDisplaying, slots));
   }
 
   @Override
   public void takeCards(List<ResourceCard> cardsInDisplaying) {
+    if (cardsInDisplaying instanceof ReservedCards<ResourceCard> reservedCards && reservedCards.isReservedBy(this, version)) {
+      // reserved cards are the first cards of their slots, in order
+      for (int i = 0; i < reservedCards.size(); i++) {
+        takeCard(reservedCards.slot(i), 0);
+      }
+      return;
+    }
     for (ResourceCard card : cardsInDisplaying) {
-      List<ResourceCard> correspondingList = availableCards.get(card.typeId());
-      correspondingList.remove(card);
+      var slot = slotOf(card.getCardIdentity());
+      if (slot != NO_SLOT) {
+        var index = cardsOfSlot(slot).indexOf(card);
+        if (index >= 0) {
+          takeCard(slot, index);
+        }
+      }
     }
   }
 
+  private void takeCard(int slot, int index) {
+    var card = cardsOfSlot(slot).remove(index);
+    availableCardsChanged();
+    listener.accept(PileEvent.taken(cardType, slot, card));
+  }
+
+  private void availableCardsChanged() {
+    displaying = null;
+    version++;
+  }
+
   @Override
   public void discardCards(List<ResourceCard> cards) {
     for (var card : cards) {
       availableCards.get(card.typeId()).add(card);
+      availableCardsChanged();
+      var slot = slotOf(card.getCardIdentity());
+      listener.accept(PileEvent.discarded(cardType, slot, card));
     }
   }
 
+  @Override
+  public double displayProbabilityAfterRefill(CardIdentity cardIdentity) {
+    var slot = slotOf(cardIdentity);
+    return slot != NO_SLOT && !cardsOfSlot(slot).isEmpty() ? 1 : 0;
+  }
+
+  @Override
+  public void setEventListener(Consumer<PileEvent> listener) {
+    this.listener = listener == null ? PileEvent.NO_LISTENER : listener;
+  }
+
   @Override
   public void refillCards() {
     // do nothing
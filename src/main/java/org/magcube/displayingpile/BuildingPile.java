@@ -1,7 +1,7 @@
 package org.magcube.displayingpile;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
 import org.magcube.card.BuildingCard;
 import org.magcube.enums.CardType;
 import org.magcube.enums.NumOfPlayers;
@@ -9,10 +9,13 @@ import org.magcube.enums.NumOfPlayers;
 public class BuildingPile extends UniqueCardPile<BuildingCard> {
 
   public BuildingPile(List<BuildingCard> deck, NumOfPlayers numOfPlayers) {
-    super(CardType.BUILDING, deck);
-    this.deck.addAll(discardPile);
-    Collections.shuffle(this.deck);
-    discardPile.clear();
+    this(deck, numOfPlayers, RandomGenerator.getDefault());
+  }
+
+  public BuildingPile(List<BuildingCard> deck, NumOfPlayers numOfPlayers, RandomGenerator random) {
+    super(CardType.BUILDING, deck, random);
+    this.deck.takeAllFrom(discardPile);
+    this.deck.shuffle(random);
 
     // don't return x directly, coz x.getIsStartingBuilding() can be null
     var startingBuilds = this.deck.stream().filter(x -> Boolean.TRUE.equals(x.getIsStartingBuilding())).toList();
@@ -23,7 +26,7 @@ public class BuildingPile extends UniqueCardPile<BuildingCard> {
       var card = startingBuilds.get(i);
       this.deck.remove(card);
       if (i < maxNumOfStartingBuilds) {
-        availableCards.set(i, card);
+        putAvailableCard(i, card);
       } else {
         discardPile.add(card);
       }
@@ -32,6 +35,15 @@ public class BuildingPile extends UniqueCardPile<BuildingCard> {
     refillCards();
   }
 
+  private BuildingPile(BuildingPile other, RandomGenerator random) {
+    super(other, random);
+  }
+
+  @Override
+  public BuildingPile copy(RandomGenerator random) {
+    return new BuildingPile(this, random);
+  }
+
   @Override
   public void discardCards(List<BuildingCard> cards) {
     // do nothing
@@ -39,13 +51,6 @@ public class BuildingPile extends UniqueCardPile<BuildingCard> {
 
   @Override
   public void refillCards() {
-    var nullIndexes = nullIndexesInAvailableCards();
-    for (int index : nullIndexes) {
-      if (deck.isEmpty()) {
-        break;
-      }
-      var newCard = deck.remove(0);
-      availableCards.set(index, newCard);
-    }
+    fillEmptySlotsFromDeck();
   }
 }
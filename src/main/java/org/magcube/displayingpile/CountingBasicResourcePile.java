@@ -0,0 +1,219 @@
+package org.magcube.displayingpile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import org.magcube.card.CardIdentity;
+import org.magcube.card.ResourceCard;
+import org.magcube.enums.CardType;
+
+// keeps the cards of each type id in a pool and a count of how many of them are in display,
+// the first count cards of a pool are in display and the rest up to its size are out of the pile
+public class CountingBasicResourcePile implements DisplayingPile<ResourceCard> {
+
+  private final CardType cardType = CardType.BASIC_RESOURCE;
+  private final ResourceCard[][] pools;
+  private final int[] counts;
+  private final int[] sizes;
+  // slot in displaying of each type id
+  private final int[] slotOfTypeId;
+  private final int maxDisplayingSize;
+  private List<List<ResourceCard>> displaying;
+  private Consumer<PileEvent> listener = PileEvent.NO_LISTENER;
+
+  public CountingBasicResourcePile(List<ResourceCard> deck) {
+    var maxTypeId = -1;
+    for (var card : deck) {
+      maxTypeId = Math.max(maxTypeId, card.typeId());
+    }
+    counts = new int[maxTypeId + 1];
+    for (var card : deck) {
+      counts[card.typeId()]++;
+    }
+    sizes = counts.clone();
+    pools = new ResourceCard[maxTypeId + 1][];
+    slotOfTypeId = new int[maxTypeId + 1];
+    var numOfTypes = 0;
+    for (var typeId = 0; typeId < pools.length; typeId++) {
+      if (counts[typeId] > 0) {
+        pools[typeId] = new ResourceCard[counts[typeId]];
+        slotOfTypeId[typeId] = numOfTypes++;
+      }
+    }
+    var filled = new int[maxTypeId + 1];
+    for (var card : deck) {
+      pools[card.typeId()][filled[card.typeId()]++] = card;
+    }
+    maxDisplayingSize = numOfTypes;
+  }
+
+  // the cards are shared, the order of the pools and the counts are copied
+  private CountingBasicResourcePile(CountingBasicResourcePile other) {
+    pools = new ResourceCard[other.pools.length][];
+    for (var typeId = 0; typeId < pools.length; typeId++) {
+      if (other.pools[typeId] != null) {
+        pools[typeId] = other.pools[typeId].clone();
+      }
+    }
+    counts = other.counts.clone();
+    sizes = other.sizes.clone();
+    slotOfTypeId = other.slotOfTypeId;
+    maxDisplayingSize = other.maxDisplayingSize;
+    displaying = other.displaying;
+  }
+
+  @Override
+  public CountingBasicResourcePile copy(RandomGenerator random) {
+    return new CountingBasicResourcePile(this);
+  }
+
+  @Override
+  public CardType getCardType() {
+    return cardType;
+  }
+
+  @Override
+  public List<List<ResourceCard>> getDisplaying() {
+    if (displaying == null) {
+      var views = new ArrayList<List<ResourceCard>>(maxDisplayingSize);
+      for (var typeId = 0; typeId < pools.length; typeId++) {
+        if (pools[typeId] != null) {
+          views.add(List.of(Arrays.copyOf(pools[typeId], counts[typeId])));
+        }
+      }
+      displaying = Collections.unmodifiableList(views);
+    }
+    return displaying;
+  }
+
+  @Override
+  public List<ResourceCard> getDeck() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public List<ResourceCard> getDiscardPile() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public int getMaxDisplayingSize() {
+    return maxDisplayingSize;
+  }
+
+  @Override
+  public int deckSize() {
+    return 0;
+  }
+
+  @Override
+  public int discardPileSize() {
+    return 0;
+  }
+
+  public int count(CardIdentity cardIdentity) {
+    var typeId = cardIdentity.typeId();
+    return isKnownTypeId(typeId) ? counts[typeId] : 0;
+  }
+
+  @Override
+  public Optional<List<ResourceCard>> cardsInDisplay(List<CardIdentity> cardIdentities) {
+    var cardsInDisplaying = new ArrayList<ResourceCard>(cardIdentities.size());
+    for (var i = 0; i < cardIdentities.size(); i++) {
+      var typeId = cardIdentities.get(i).typeId();
+      if (!isKnownTypeId(typeId)) {
+        return Optional.empty();
+      }
+      // the same type id asked again gets the next card of its pool
+      var index = 0;
+      for (var j = 0; j < i; j++) {
+        if (cardIdentities.get(j).typeId() == typeId) {
+          index++;
+        }
+      }
+      if (index >= counts[typeId]) {
+        return Optional.empty();
+      }
+      cardsInDisplaying.add(pools[typeId][index]);
+    }
+    return Optional.of(cardsInDisplaying);
+  }
+
+  // every card must be in display, the taken card is swapped behind the displayed cards of its pool
+  @Override
+  public void takeCards(List<ResourceCard> cardsInDisplaying) {
+    for (var card : cardsInDisplaying) {
+      var typeId = card.typeId();
+      var index = isKnownTypeId(typeId) ? indexOf(typeId, card, 0, counts[typeId]) : -1;
+      if (index < 0) {
+        throw new IllegalArgumentException("not a card in display of this pile: " + card.getCardIdentity());
+      }
+      swap(pools[typeId], index, --counts[typeId]);
+      displaying = null;
+      listener.accept(PileEvent.taken(cardType, slotOfTypeId[typeId], card));
+    }
+  }
+
+  // the card is swapped to the end of the displayed cards of its pool,
+  // a card which is not taken from this pile is added to the pool, only then the pool may grow
+  @Override
+  public void discardCards(List<ResourceCard> cards) {
+    for (var card : cards) {
+      var typeId = card.typeId();
+      if (!isKnownTypeId(typeId)) {
+        throw new IllegalArgumentException("not a basic resource of this pile: " + card.getCardIdentity());
+      }
+      var index = indexOf(typeId, card, counts[typeId], sizes[typeId]);
+      if (index < 0) {
+        if (sizes[typeId] == pools[typeId].length) {
+          pools[typeId] = Arrays.copyOf(pools[typeId], pools[typeId].length * 2);
+        }
+        index = sizes[typeId]++;
+        pools[typeId][index] = card;
+      }
+      swap(pools[typeId], index, counts[typeId]++);
+      displaying = null;
+      listener.accept(PileEvent.discarded(cardType, slotOfTypeId[typeId], card));
+    }
+  }
+
+  @Override
+  public double displayProbabilityAfterRefill(CardIdentity cardIdentity) {
+    return cardIdentity.cardType() == cardType && count(cardIdentity) > 0 ? 1 : 0;
+  }
+
+  @Override
+  public void setEventListener(Consumer<PileEvent> listener) {
+    this.listener = listener == null ? PileEvent.NO_LISTENER : listener;
+  }
+
+  @Override
+  public void refillCards() {
+    // do nothing
+  }
+
+  private boolean isKnownTypeId(int typeId) {
+    return typeId >= 0 && typeId < pools.length && pools[typeId] != null;
+  }
+
+  // cards compare by instance, so the index of the card itself is found
+  private int indexOf(int typeId, ResourceCard card, int from, int to) {
+    var pool = pools[typeId];
+    for (var i = from; i < to; i++) {
+      if (pool[i].equals(card)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static void swap(ResourceCard[] pool, int i, int j) {
+    var card = pool[i];
+    pool[i] = pool[j];
+    pool[j] = card;
+  }
+}
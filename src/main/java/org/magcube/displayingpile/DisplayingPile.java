@@ -2,6 +2,8 @@ package org.magcube.displayingpile;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 import org.magcube.card.Card;
 import org.magcube.card.CardIdentity;
 import org.magcube.enums.CardType;
@@ -33,4 +35,13 @@ public interface DisplayingPile<T extends Card> {
   void discardCards(List<T> cards);
 
   void refillCards();
+
+  // probability that a card with the identity is in display after the next refill
+  double displayProbabilityAfterRefill(CardIdentity cardIdentity);
+
+  // the listener is called after each change of the pile, null removes it
+  void setEventListener(Consumer<PileEvent> listener);
+
+  // independent copy sharing the cards, it draws from the given generator and has no listener
+  DisplayingPile<T> copy(RandomGenerator random);
 }
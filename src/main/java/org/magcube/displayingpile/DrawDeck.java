@@ -0,0 +1,287 @@
+package org.magcube.displayingpile;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.ToIntFunction;
+import java.util.random.RandomGenerator;
+
+// array backed list with a head cursor, drawing from the top does not shift the remaining cards
+// snapshots share the array, it is copied before the first write into a range a snapshot can see
+// when created with a key function, the number of cards of each key is kept up to date
+public class DrawDeck<T> extends AbstractList<T> implements RandomAccess {
+
+  private static final Object[] EMPTY = {};
+
+  private final ToIntFunction<? super T> keyOf;
+  private Object[] elements;
+  private int head;
+  private int tail;
+  private boolean shared;
+  private int[] counts = new int[0];
+
+  public DrawDeck() {
+    this((ToIntFunction<? super T>) null);
+  }
+
+  public DrawDeck(Collection<? extends T> cards) {
+    this(cards, null);
+  }
+
+  public DrawDeck(ToIntFunction<? super T> keyOf) {
+    this.keyOf = keyOf;
+    elements = EMPTY;
+  }
+
+  // independent copy with the same cards in the same order
+  public DrawDeck(DrawDeck<T> other) {
+    keyOf = other.keyOf;
+    elements = other.isEmpty() ? EMPTY : Arrays.copyOfRange(other.elements, other.head, other.tail);
+    tail = elements.length;
+    counts = other.counts.clone();
+  }
+
+  public DrawDeck(Collection<? extends T> cards, ToIntFunction<? super T> keyOf) {
+    this.keyOf = keyOf;
+    elements = cards.toArray();
+    tail = elements.length;
+    for (var card : elements) {
+      countCard(card, 1);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    Objects.checkIndex(index, size());
+    return (T) elements[head + index];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T set(int index, T card) {
+    Objects.checkIndex(index, size());
+    unshare();
+    var previous = (T) elements[head + index];
+    elements[head + index] = card;
+    countCard(previous, -1);
+    countCard(card, 1);
+    return previous;
+  }
+
+  @Override
+  public int size() {
+    return tail - head;
+  }
+
+  @Override
+  public void add(int index, T card) {
+    Objects.checkIndex(index, size() + 1);
+    if (index != size()) {
+      unshare();
+    }
+    ensureCapacity(size() + 1);
+    var position = head + index;
+    System.arraycopy(elements, position, elements, position + 1, tail - position);
+    elements[position] = card;
+    tail++;
+    countCard(card, 1);
+    modCount++;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends T> cards) {
+    if (cards.isEmpty()) {
+      return false;
+    }
+    var added = cards.toArray();
+    ensureCapacity(size() + added.length);
+    System.arraycopy(added, 0, elements, tail, added.length);
+    tail += added.length;
+    for (var card : added) {
+      countCard(card, 1);
+    }
+    modCount++;
+    return true;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T remove(int index) {
+    Objects.checkIndex(index, size());
+    var position = head + index;
+    var removed = (T) elements[position];
+    if (index == 0) {
+      if (!shared) {
+        elements[head] = null;
+      }
+      head++;
+    } else {
+      unshare();
+      position = head + index;
+      System.arraycopy(elements, position + 1, elements, position, tail - position - 1);
+      elements[--tail] = null;
+    }
+    if (head == tail) {
+      reset();
+    }
+    countCard(removed, -1);
+    modCount++;
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    if (!shared) {
+      Arrays.fill(elements, head, tail, null);
+    }
+    reset();
+    Arrays.fill(counts, 0);
+    modCount++;
+  }
+
+  // immutable view of the current cards in O(1)
+  public List<T> snapshot() {
+    if (isEmpty()) {
+      return Collections.emptyList();
+    }
+    shared = true;
+    return new Snapshot<>(elements, head, tail);
+  }
+
+  public T draw() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    return remove(0);
+  }
+
+  // moves all cards of the other deck to the bottom of this deck, the arrays are swapped if this deck is empty
+  public void takeAllFrom(DrawDeck<T> other) {
+    if (other.isEmpty()) {
+      return;
+    }
+    if (isEmpty()) {
+      var elements = shared ? EMPTY : this.elements;
+      this.elements = other.elements;
+      this.head = other.head;
+      this.tail = other.tail;
+      this.shared = other.shared;
+      var counts = this.counts;
+      this.counts = other.counts;
+      other.counts = counts;
+      other.elements = elements;
+      other.head = 0;
+      other.tail = 0;
+      other.shared = false;
+      modCount++;
+      other.modCount++;
+    } else {
+      addAll(other);
+      other.clear();
+    }
+  }
+
+  // number of cards with the key, only kept when the deck was created with a key function
+  public int count(int key) {
+    if (keyOf == null) {
+      throw new IllegalStateException("deck is not created with a key function");
+    }
+    return key >= 0 && key < counts.length ? counts[key] : 0;
+  }
+
+  // keys of all cards in the deck are below the limit
+  int keyLimit() {
+    return counts.length;
+  }
+
+  // fisher-yates shuffle in place
+  public void shuffle(RandomGenerator random) {
+    unshare();
+    for (int i = size() - 1; i > 0; i--) {
+      var j = head + random.nextInt(i + 1);
+      var card = elements[head + i];
+      elements[head + i] = elements[j];
+      elements[j] = card;
+    }
+  }
+
+  private void ensureCapacity(int size) {
+    if (head + size <= elements.length) {
+      return;
+    }
+    if (size <= elements.length && !shared) {
+      // compacts the drawn space instead of growing
+      System.arraycopy(elements, head, elements, 0, tail - head);
+      Arrays.fill(elements, tail - head, tail, null);
+    } else {
+      var capacity = Math.max(size, elements.length + (elements.length >> 1) + 1);
+      var grown = new Object[capacity];
+      System.arraycopy(elements, head, grown, 0, tail - head);
+      elements = grown;
+      shared = false;
+    }
+    tail -= head;
+    head = 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void countCard(Object card, int delta) {
+    if (keyOf == null) {
+      return;
+    }
+    var key = keyOf.applyAsInt((T) card);
+    if (key >= counts.length) {
+      counts = Arrays.copyOf(counts, Math.max(key + 1, counts.length * 2));
+    }
+    counts[key] += delta;
+  }
+
+  private void unshare() {
+    if (shared) {
+      elements = Arrays.copyOfRange(elements, head, tail);
+      tail -= head;
+      head = 0;
+      shared = false;
+    }
+  }
+
+  private void reset() {
+    if (shared) {
+      elements = EMPTY;
+      shared = false;
+    }
+    head = 0;
+    tail = 0;
+  }
+
+  private static final class Snapshot<T> extends AbstractList<T> implements RandomAccess {
+
+    private final Object[] elements;
+    private final int from;
+    private final int to;
+
+    private Snapshot(Object[] elements, int from, int to) {
+      this.elements = elements;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+      Objects.checkIndex(index, size());
+      return (T) elements[from + index];
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+}
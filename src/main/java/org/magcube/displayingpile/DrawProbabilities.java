@@ -0,0 +1,87 @@
+package org.magcube.displayingpile;
+
+public final class DrawProbabilities {
+
+  private DrawProbabilities() {
+  }
+
+  // probability that at least one of the copies is among the top draws of a randomly ordered deck
+  public static double anyDrawn(int deckSize, int copies, int draws) {
+    if (copies <= 0 || draws <= 0) {
+      return 0;
+    }
+    draws = Math.min(draws, deckSize);
+    var noneDrawn = 1.0;
+    for (int i = 0; i < draws; i++) {
+      if (deckSize - copies - i <= 0) {
+        return 1;
+      }
+      noneDrawn *= (double) (deckSize - copies - i) / (deckSize - i);
+    }
+    return 1 - noneDrawn;
+  }
+
+  // probability that, in a randomly ordered deck, the first copy of a type comes before the first copies of all but
+  // at most slots - 1 of the other types, cards of types not listed do not matter
+  public static double firstOccurrenceWithin(int copies, int[] otherTypeCopies, int slots) {
+    if (copies <= 0 || slots <= 0) {
+      return 0;
+    }
+    if (otherTypeCopies.length < slots) {
+      return 1;
+    }
+    // ordering the cards by i.i.d. uniform labels, the first copy of a type with c copies comes after u with
+    // probability v^c where v = 1 - u, independently of the other types
+    // before[j] holds the coefficients in v of the probability that exactly j other types come first
+    var before = new double[slots][];
+    before[0] = new double[]{1};
+    for (int j = 1; j < slots; j++) {
+      before[j] = new double[0];
+    }
+    for (var otherCopies : otherTypeCopies) {
+      for (int j = slots - 1; j >= 0; j--) {
+        var notYet = shift(before[j], otherCopies);
+        before[j] = j == 0 ? notYet : add(notYet, subtract(before[j - 1], shift(before[j - 1], otherCopies)));
+      }
+    }
+    // integrates copies * v^(copies - 1) * sum of before[j] over v in [0, 1]
+    var probability = 0.0;
+    for (var polynomial : before) {
+      for (int i = 0; i < polynomial.length; i++) {
+        probability += polynomial[i] * copies / (copies + i);
+      }
+    }
+    return Math.min(1, Math.max(0, probability));
+  }
+
+  private static double[] shift(double[] polynomial, int degree) {
+    if (polynomial.length == 0) {
+      return polynomial;
+    }
+    var shifted = new double[polynomial.length + degree];
+    System.arraycopy(polynomial, 0, shifted, degree, polynomial.length);
+    return shifted;
+  }
+
+  private static double[] add(double[] a, double[] b) {
+    var sum = new double[Math.max(a.length, b.length)];
+    for (int i = 0; i < a.length; i++) {
+      sum[i] += a[i];
+    }
+    for (int i = 0; i < b.length; i++) {
+      sum[i] += b[i];
+    }
+    return sum;
+  }
+
+  private static double[] subtract(double[] a, double[] b) {
+    var difference = new double[Math.max(a.length, b.length)];
+    for (int i = 0; i < a.length; i++) {
+      difference[i] += a[i];
+    }
+    for (int i = 0; i < b.length; i++) {
+      difference[i] -= b[i];
+    }
+    return difference;
+  }
+}
@@ -1,12 +1,12 @@
 package org.magcube.displayingpile;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 import java.util.stream.IntStream;
 import org.magcube.card.CardIdentity;
 import org.magcube.card.ResourceCard;
@@ -14,20 +14,53 @@ import org.magcube.enums.CardType;
 
 public class LevelOneResourcePile implements DisplayingPile<ResourceCard> {
 
+  private static final int NO_SLOT = -1;
+
   private final CardType cardType = CardType.LEVEL_ONE_RESOURCE;
   private final List<List<ResourceCard>> displaying;
-  private final List<ResourceCard> deck;
-  private final List<ResourceCard> discardPile;
+  private final DrawDeck<ResourceCard> deck;
+  private final DrawDeck<ResourceCard> discardPile;
   private final int maxDisplayingSize = 5;
+  private final RandomGenerator random;
+  // slot in displaying of each type id, NO_SLOT if the card is not in display
+  private int[] slotOfTypeId = new int[0];
+  // immutable copy of displaying, rebuilt after displaying changes
+  private List<List<ResourceCard>> displayingSnapshot;
+  // changes whenever displaying changes, reservations of an older version are taken by searching
+  private int version;
+  private Consumer<PileEvent> listener = PileEvent.NO_LISTENER;
 
   public LevelOneResourcePile(List<ResourceCard> deck) {
+    this(deck, RandomGenerator.getDefault());
+  }
+
+  public LevelOneResourcePile(List<ResourceCard> deck, RandomGenerator random) {
+    this.random = random;
     displaying = new ArrayList<>(new ArrayList<>());
-    this.deck = new ArrayList<>();
+    this.deck = new DrawDeck<>(ResourceCard::typeId);
     IntStream.range(0, maxDisplayingSize).forEach(i -> displaying.add(new ArrayList<>()));
-    discardPile = new ArrayList<>(deck);
+    discardPile = new DrawDeck<>(deck, ResourceCard::typeId);
     refillCards();
   }
 
+  private LevelOneResourcePile(LevelOneResourcePile other, RandomGenerator random) {
+    this.random = random;
+    displaying = new ArrayList<>(other.displaying.size());
+    for (var cards : other.displaying) {
+      displaying.add(new ArrayList<>(cards));
+    }
+    deck = new DrawDeck<>(other.deck);
+    discardPile = new DrawDeck<>(other.discardPile);
+    slotOfTypeId = other.slotOfTypeId.clone();
+    displayingSnapshot = other.displayingSnapshot;
+    version = other.version;
+  }
+
+  @Override
+  public LevelOneResourcePile copy(RandomGenerator random) {
+    return new LevelOneResourcePile(this, random);
+  }
+
   @Override
   public CardType getCardType() {
     return cardType;
@@ -35,17 +68,20 @@ public class LevelOneResourcePile implements DisplayingPile<ResourceCard> {
 
   @Override
   public List<List<ResourceCard>> getDisplaying() {
-    return displaying;
+    if (displayingSnapshot == null) {
+      displayingSnapshot = displaying.stream().map(List::copyOf).toList();
+    }
+    return displayingSnapshot;
   }
 
   @Override
   public List<ResourceCard> getDeck() {
-    return deck;
+    return deck.snapshot();
   }
 
   @Override
   public List<ResourceCard> getDiscardPile() {
-    return discardPile;
+    return discardPile.snapshot();
   }
 
   @Override
@@ -63,96 +99,169 @@ public class LevelOneResourcePile implements DisplayingPile<ResourceCard> {
     return discardPile.size();
   }
 
-  private Optional<ResourceCard> cardInDisplay(CardIdentity cardIdentity) {
-    var listWithSameCardIdentity = findTheListWithTheSameCardIdentity(cardIdentity);
-    return listWithSameCardIdentity.map(cards -> cards.get(0));
+  private Optional<List<ResourceCard>> cardInDisplay(CardIdentity cardIdentity) {
+    var slot = slotOf(cardIdentity);
+    if (slot == NO_SLOT) {
+      return Optional.empty();
+    }
+    var card = displaying.get(slot).get(0);
+    return Optional.of(new ReservedCards<>(this, version, Collections.singletonList(card), new int[]{slot}));
   }
 
   @Override
   public Optional<List<ResourceCard>> cardsInDisplay(List<CardIdentity> cardIdentities) {
     if (cardIdentities.size() == 1) {
-      return cardInDisplay(cardIdentities.get(0)).map(Collections::singletonList);
+      return cardInDisplay(cardIdentities.get(0));
     }
 
     var cardsInDisplaying = new ArrayList<ResourceCard>();
+    var slots = new int[cardIdentities.size()];
 
-    var quantityMap = cardIdentities.stream().collect(Collectors.toMap(Function.identity(), x -> 1, Integer::sum));
-
-    for (Entry<CardIdentity, Integer> entry : quantityMap.entrySet()) {
-      CardIdentity cardIdentity = entry.getKey();
-      Integer quantity = entry.getValue();
-      var listWithSameCardIdentity = findTheListWithTheSameCardIdentity(cardIdentity, quantity);
-      if (listWithSameCardIdentity.isPresent()) {
-        var list = listWithSameCardIdentity.get();
-        cardsInDisplaying.addAll(list.subList(0, quantity));
-      } else {
+    for (int i = 0; i < cardIdentities.size(); i++) {
+      var cardIdentity = cardIdentities.get(i);
+      if (cardIdentities.subList(0, i).contains(cardIdentity)) {
+        continue;
+      }
+      var quantity = 0;
+      for (int j = i; j < cardIdentities.size(); j++) {
+        if (cardIdentity.equals(cardIdentities.get(j))) {
+          quantity++;
+        }
+      }
+      var slot = slotOf(cardIdentity);
+      if (slot == NO_SLOT || displaying.get(slot).size() < quantity) {
         return Optional.empty();
       }
+      Arrays.fill(slots, cardsInDisplaying.size(), cardsInDisplaying.size() + quantity, slot);
+      cardsInDisplaying.addAll(displaying.get(slot).subList(0, quantity));
     }
 
-    return Optional.of(cardsInDisplaying);
+    return Optional.of(new ReservedCards<>(this, version, cardsInDisplaying, slots));
   }
 
   @Override
   public void takeCards(List<ResourceCard> cardsInDisplaying) {
+    if (cardsInDisplaying instanceof ReservedCards<ResourceCard> reservedCards && reservedCards.isReservedBy(this, version)) {
+      // reserved cards are the first cards of their slots, in order
+      for (int i = 0; i < reservedCards.size(); i++) {
+        takeCard(reservedCards.slot(i), 0);
+      }
+      return;
+    }
     for (ResourceCard card : cardsInDisplaying) {
-      var list = findTheListWithTheSameCardIdentity(card.getCardIdentity());
-      list.ifPresent(cards -> cards.remove(card));
+      var slot = slotOf(card.getCardIdentity());
+      if (slot != NO_SLOT) {
+        var index = displaying.get(slot).indexOf(card);
+        if (index >= 0) {
+          takeCard(slot, index);
+        }
+      }
     }
   }
 
+  private void takeCard(int slot, int index) {
+    var cards = displaying.get(slot);
+    var card = cards.remove(index);
+    if (cards.isEmpty()) {
+      slotOfTypeId[card.typeId()] = NO_SLOT;
+    }
+    displayingChanged();
+    listener.accept(PileEvent.taken(cardType, slot, card));
+  }
+
+  private void displayingChanged() {
+    displayingSnapshot = null;
+    version++;
+  }
+
   @Override
   public void discardCards(List<ResourceCard> cards) {
     this.discardPile.addAll(cards);
+    for (var card : cards) {
+      listener.accept(PileEvent.discarded(cardType, PileEvent.NO_SLOT, card));
+    }
+  }
+
+  @Override
+  public void setEventListener(Consumer<PileEvent> listener) {
+    this.listener = listener == null ? PileEvent.NO_LISTENER : listener;
   }
 
   private void fillDeckWithDiscardPileIfDeckUsedUp() {
     if (deck.isEmpty() && displaying.stream().anyMatch(List::isEmpty)) {
-      deck.addAll(discardPile);
-      Collections.shuffle(deck);
-      discardPile.clear();
+      deck.takeAllFrom(discardPile);
+      deck.shuffle(random);
+      listener.accept(PileEvent.reshuffled(cardType));
     }
   }
 
-  private Optional<List<ResourceCard>> findEmptyListInDisplayingPile() {
-    return displaying.stream()
-        .filter(List::isEmpty)
-        .findFirst();
+  @Override
+  public double displayProbabilityAfterRefill(CardIdentity cardIdentity) {
+    if (slotOf(cardIdentity) != NO_SLOT) {
+      return 1;
+    }
+    var emptySlots = (int) displaying.stream().filter(List::isEmpty).count();
+    if (cardIdentity.cardType() != cardType || emptySlots == 0) {
+      return 0;
+    }
+    var source = deck.isEmpty() ? discardPile : deck;
+    var copies = source.count(cardIdentity.typeId());
+    if (copies == 0) {
+      return 0;
+    }
+    // cards of displayed types join their slots, every other type takes an empty slot when it is drawn first
+    var otherTypeCopies = IntStream.range(0, source.keyLimit())
+        .filter(typeId -> typeId != cardIdentity.typeId() && source.count(typeId) > 0)
+        .filter(typeId -> typeId >= slotOfTypeId.length || slotOfTypeId[typeId] == NO_SLOT)
+        .map(source::count)
+        .toArray();
+    return DrawProbabilities.firstOccurrenceWithin(copies, otherTypeCopies, emptySlots);
+  }
+
+  private int findEmptySlot() {
+    for (int i = 0; i < displaying.size(); i++) {
+      if (displaying.get(i).isEmpty()) {
+        return i;
+      }
+    }
+    return NO_SLOT;
   }
 
   @Override
   public void refillCards() {
     fillDeckWithDiscardPileIfDeckUsedUp();
 
-    var emptyList = findEmptyListInDisplayingPile();
-    while (emptyList.isPresent() && !deck.isEmpty()) {
-      var newCard = deck.remove(0);
-      var listWithSameCardIdentity = findTheListWithTheSameCardIdentity(newCard);
-      if (listWithSameCardIdentity.isPresent()) {
-        listWithSameCardIdentity.get().add(newCard);
+    var emptySlot = findEmptySlot();
+    while (emptySlot != NO_SLOT && !deck.isEmpty()) {
+      var newCard = deck.draw();
+      displayingChanged();
+      var slot = slotOf(newCard.getCardIdentity());
+      if (slot != NO_SLOT) {
+        displaying.get(slot).add(newCard);
       } else {
-        emptyList.get().add(newCard);
+        slot = emptySlot;
+        displaying.get(slot).add(newCard);
+        putSlot(newCard.typeId(), slot);
+        emptySlot = findEmptySlot();
       }
-      emptyList = displaying.stream().filter(List::isEmpty).findFirst();
+      listener.accept(PileEvent.refilled(cardType, slot, newCard));
     }
   }
 
-  private Optional<List<ResourceCard>> findTheListWithTheSameCardIdentity(CardIdentity cardIdentity) {
-    return displaying.stream()
-        .filter(innerList -> innerList.stream().anyMatch(card -> card.isIdentical(cardIdentity)))
-        .findFirst();
-  }
-
-  private Optional<List<ResourceCard>> findTheListWithTheSameCardIdentity(CardIdentity cardIdentity, int minSize) {
-    return displaying.stream()
-        .filter(innerList -> innerList.stream().anyMatch(card -> card.isIdentical(cardIdentity)))
-        .filter(innerList -> innerList.size() >= minSize)
-        .findFirst();
+  private int slotOf(CardIdentity cardIdentity) {
+    var typeId = cardIdentity.typeId();
+    if (cardIdentity.cardType() != cardType || typeId < 0 || typeId >= slotOfTypeId.length) {
+      return NO_SLOT;
+    }
+    return slotOfTypeId[typeId];
   }
 
-  private Optional<List<ResourceCard>> findTheListWithTheSameCardIdentity(ResourceCard card) {
-    return displaying.stream()
-        .filter(innerList -> innerList.stream().anyMatch(card::isIdentical))
-        .findFirst();
+  private void putSlot(int typeId, int slot) {
+    if (typeId >= slotOfTypeId.length) {
+      var length = slotOfTypeId.length;
+      slotOfTypeId = Arrays.copyOf(slotOfTypeId, Math.max(typeId + 1, length * 2));
+      Arrays.fill(slotOfTypeId, length, slotOfTypeId.length, NO_SLOT);
+    }
+    slotOfTypeId[typeId] = slot;
   }
 }
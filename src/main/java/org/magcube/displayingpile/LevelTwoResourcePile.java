@@ -1,40 +1,54 @@
 package org.magcube.displayingpile;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
 import org.magcube.card.ResourceCard;
 import org.magcube.enums.CardType;
 
 public class LevelTwoResourcePile extends UniqueCardPile<ResourceCard> {
 
   public LevelTwoResourcePile(List<ResourceCard> deck) {
-    super(CardType.LEVEL_TWO_RESOURCE, deck);
+    this(deck, RandomGenerator.getDefault());
+  }
+
+  public LevelTwoResourcePile(List<ResourceCard> deck, RandomGenerator random) {
+    super(CardType.LEVEL_TWO_RESOURCE, deck, random);
     refillCards();
   }
 
+  private LevelTwoResourcePile(LevelTwoResourcePile other, RandomGenerator random) {
+    super(other, random);
+  }
+
+  @Override
+  public LevelTwoResourcePile copy(RandomGenerator random) {
+    return new LevelTwoResourcePile(this, random);
+  }
+
   @Override
   public void discardCards(List<ResourceCard> cards) {
     this.discardPile.addAll(cards);
+    for (var card : cards) {
+      listener.accept(PileEvent.discarded(cardType, PileEvent.NO_SLOT, card));
+    }
   }
 
   @Override
   public void refillCards() {
     fillDeckWithDiscardPileIfDeckUsedUp();
-    var nullIndexes = nullIndexesInAvailableCards();
-    for (int index : nullIndexes) {
-      if (deck.isEmpty()) {
-        break;
-      }
-      var newCard = deck.remove(0);
-      availableCards.set(index, newCard);
-    }
+    fillEmptySlotsFromDeck();
+  }
+
+  @Override
+  protected DrawDeck<ResourceCard> refillSource() {
+    return deck.isEmpty() ? discardPile : deck;
   }
 
   private void fillDeckWithDiscardPileIfDeckUsedUp() {
     if (deck.isEmpty() && discardPile.size() > 0) {
-      deck.addAll(discardPile);
-      Collections.shuffle(deck);
-      discardPile.clear();
+      deck.takeAllFrom(discardPile);
+      deck.shuffle(random);
+      listener.accept(PileEvent.reshuffled(cardType));
     }
   }
 }
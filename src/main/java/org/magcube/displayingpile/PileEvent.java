@@ -0,0 +1,31 @@
+package org.magcube.displayingpile;
+
+import java.util.function.Consumer;
+import org.magcube.card.Card;
+import org.magcube.enums.CardType;
+import org.magcube.enums.PileEventType;
+
+// slot is NO_SLOT and card is null when the event does not concern a single displaying slot or card
+public record PileEvent(CardType cardType, PileEventType type, int slot, Card card) {
+
+  public static final int NO_SLOT = -1;
+
+  static final Consumer<PileEvent> NO_LISTENER = event -> {
+  };
+
+  static PileEvent taken(CardType cardType, int slot, Card card) {
+    return new PileEvent(cardType, PileEventType.CARD_TAKEN, slot, card);
+  }
+
+  static PileEvent discarded(CardType cardType, int slot, Card card) {
+    return new PileEvent(cardType, PileEventType.CARD_DISCARDED, slot, card);
+  }
+
+  static PileEvent refilled(CardType cardType, int slot, Card card) {
+    return new PileEvent(cardType, PileEventType.SLOT_REFILLED, slot, card);
+  }
+
+  static PileEvent reshuffled(CardType cardType) {
+    return new PileEvent(cardType, PileEventType.DECK_RESHUFFLED, NO_SLOT, null);
+  }
+}
@@ -0,0 +1,42 @@
+package org.magcube.displayingpile;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import org.magcube.card.Card;
+
+// cards resolved by cardsInDisplay together with their slots, takeCards commits them by slot while the pile is unchanged
+public final class ReservedCards<T extends Card> extends AbstractList<T> implements RandomAccess {
+
+  private final DisplayingPile<T> pile;
+  private final int version;
+  private final List<T> cards;
+  private final int[] slots;
+
+  ReservedCards(DisplayingPile<T> pile, int version, List<T> cards, int[] slots) {
+    this.pile = pile;
+    this.version = version;
+    this.cards = cards;
+    this.slots = slots;
+  }
+
+  @Override
+  public T get(int index) {
+    return cards.get(index);
+  }
+
+  @Override
+  public int size() {
+    return cards.size();
+  }
+
+  boolean isReservedBy(DisplayingPile<T> pile, int version) {
+    return this.pile == pile && this.version == version;
+  }
+
+  int slot(int index) {
+    Objects.checkIndex(index, slots.length);
+    return slots[index];
+  }
+}
@@ -1,13 +1,12 @@
 package org.magcube.displayingpile;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 import org.magcube.card.Card;
 import org.magcube.card.CardIdentity;
 import org.magcube.enums.CardType;
@@ -15,16 +14,43 @@ import org.magcube.enums.CardType;
 public abstract class UniqueCardPile<T extends Card> implements DisplayingPile<T> {
 
   protected final CardType cardType;
-  protected final List<T> availableCards;
-  protected final List<T> deck;
-  protected final List<T> discardPile;
+  private final List<T> availableCards;
+  protected final DrawDeck<T> deck;
+  protected final DrawDeck<T> discardPile;
   protected final int maxDisplayingSize = 5;
+  protected final RandomGenerator random;
+  // bit i is set when slot i of available cards is empty
+  private int emptySlots;
+  // bit i is set when slot i of available cards holds the type id
+  private int[] slotsOfTypeId = new int[0];
+  private List<List<T>> displaying;
+  // changes whenever a slot changes, reservations of an older version are taken by searching
+  private int version;
+  protected Consumer<PileEvent> listener = PileEvent.NO_LISTENER;
 
   public UniqueCardPile(CardType cardType, List<T> deck) {
+    this(cardType, deck, RandomGenerator.getDefault());
+  }
+
+  public UniqueCardPile(CardType cardType, List<T> deck, RandomGenerator random) {
     this.cardType = cardType;
+    this.random = random;
     availableCards = new ArrayList<>(Collections.nCopies(maxDisplayingSize, null));
-    this.deck = new ArrayList<>();
-    discardPile = new ArrayList<>(deck);
+    emptySlots = (1 << maxDisplayingSize) - 1;
+    this.deck = new DrawDeck<>(Card::typeId);
+    discardPile = new DrawDeck<>(deck, Card::typeId);
+  }
+
+  protected UniqueCardPile(UniqueCardPile<T> other, RandomGenerator random) {
+    cardType = other.cardType;
+    this.random = random;
+    availableCards = new ArrayList<>(other.availableCards);
+    deck = new DrawDeck<>(other.deck);
+    discardPile = new DrawDeck<>(other.discardPile);
+    emptySlots = other.emptySlots;
+    slotsOfTypeId = other.slotsOfTypeId.clone();
+    displaying = other.displaying;
+    version = other.version;
   }
 
   @Override
@@ -34,17 +60,20 @@ public abstract class UniqueCardPile<T extends Card> implements DisplayingPile<T
 
   @Override
   public List<List<T>> getDisplaying() {
-    return availableCards.stream().map(x -> x == null ? Collections.<T>emptyList() : List.of(x)).collect(Collectors.toList());
+    if (displaying == null) {
+      displaying = availableCards.stream().map(x -> x == null ? Collections.<T>emptyList() : List.of(x)).toList();
+    }
+    return displaying;
   }
 
   @Override
   public List<T> getDeck() {
-    return deck;
+    return deck.snapshot();
   }
 
   @Override
   public List<T> getDiscardPile() {
-    return discardPile;
+    return discardPile.snapshot();
   }
 
   @Override
@@ -63,8 +92,15 @@ public abstract class UniqueCardPile<T extends Card> implements DisplayingPile<T
   }
 
   protected boolean haveDuplicatedCardIdentities(List<CardIdentity> cardIdentities) {
-    var cardIdentitiesSet = new HashSet<>(cardIdentities);
-    return cardIdentitiesSet.size() != cardIdentities.size();
+    for (int i = 1; i < cardIdentities.size(); i++) {
+      var packed = cardIdentities.get(i).packed();
+      for (int j = 0; j < i; j++) {
+        if (cardIdentities.get(j).packed() == packed) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   @Override
@@ -73,28 +109,105 @@ public abstract class UniqueCardPile<T extends Card> implements DisplayingPile<T
       return Optional.empty();
     }
 
-    List<T> cardsInDisplaying = availableCards.stream()
-        .filter(Objects::nonNull)
-        .filter(card -> cardIdentities.stream().anyMatch(card::isIdentical))
-        .collect(Collectors.toList());
+    var foundSlots = 0;
+    for (var cardIdentity : cardIdentities) {
+      var slots = slotsOf(cardIdentity);
+      // an identity shown in more than one slot is ambiguous
+      if (slots == 0 || (slots & (slots - 1)) != 0) {
+        return Optional.empty();
+      }
+      foundSlots |= slots;
+    }
 
-    return cardsInDisplaying.size() == cardIdentities.size()
-        ? Optional.of(cardsInDisplaying)
-        : Optional.empty();
+    var cardsInDisplaying = new ArrayList<T>(cardIdentities.size());
+    var slotIndexes = new int[cardIdentities.size()];
+    for (var slots = foundSlots; slots != 0; slots &= slots - 1) {
+      slotIndexes[cardsInDisplaying.size()] = Integer.numberOfTrailingZeros(slots);
+      cardsInDisplaying.add(availableCards.get(Integer.numberOfTrailingZeros(slots)));
+    }
+    return Optional.of(new ReservedCards<>(this, version, cardsInDisplaying, slotIndexes));
   }
 
   @Override
   public void takeCards(List<T> cardsInDisplaying) {
+    if (cardsInDisplaying instanceof ReservedCards<T> reservedCards && reservedCards.isReservedBy(this, version)) {
+      for (int i = 0; i < reservedCards.size(); i++) {
+        var index = reservedCards.slot(i);
+        putAvailableCard(index, null);
+        listener.accept(PileEvent.taken(cardType, index, reservedCards.get(i)));
+      }
+      return;
+    }
     for (T card : cardsInDisplaying) {
-      int index = availableCards.indexOf(card);
-      availableCards.set(index, null);
+      for (var slots = slotsOf(card.getCardIdentity()); slots != 0; slots &= slots - 1) {
+        var index = Integer.numberOfTrailingZeros(slots);
+        if (availableCards.get(index) == card) {
+          putAvailableCard(index, null);
+          listener.accept(PileEvent.taken(cardType, index, card));
+          break;
+        }
+      }
+    }
+  }
+
+  protected void putAvailableCard(int index, T card) {
+    var previous = availableCards.set(index, card);
+    if (previous != null) {
+      slotsOfTypeId[previous.typeId()] &= ~(1 << index);
+    }
+    if (card == null) {
+      emptySlots |= 1 << index;
+    } else {
+      growSlotsOfTypeId(card.typeId());
+      slotsOfTypeId[card.typeId()] |= 1 << index;
+      emptySlots &= ~(1 << index);
+    }
+    displaying = null;
+    version++;
+  }
+
+  protected void fillEmptySlotsFromDeck() {
+    for (var slots = emptySlots; slots != 0 && !deck.isEmpty(); slots &= slots - 1) {
+      var index = Integer.numberOfTrailingZeros(slots);
+      var card = deck.draw();
+      putAvailableCard(index, card);
+      listener.accept(PileEvent.refilled(cardType, index, card));
+    }
+  }
+
+  @Override
+  public double displayProbabilityAfterRefill(CardIdentity cardIdentity) {
+    if (slotsOf(cardIdentity) != 0) {
+      return 1;
+    }
+    if (cardIdentity.cardType() != cardType) {
+      return 0;
+    }
+    var source = refillSource();
+    return DrawProbabilities.anyDrawn(source.size(), source.count(cardIdentity.typeId()), Integer.bitCount(emptySlots));
+  }
+
+  // the deck the next refill draws from
+  protected DrawDeck<T> refillSource() {
+    return deck;
+  }
+
+  @Override
+  public void setEventListener(Consumer<PileEvent> listener) {
+    this.listener = listener == null ? PileEvent.NO_LISTENER : listener;
+  }
+
+  private int slotsOf(CardIdentity cardIdentity) {
+    var typeId = cardIdentity.typeId();
+    if (cardIdentity.cardType() != cardType || typeId < 0 || typeId >= slotsOfTypeId.length) {
+      return 0;
     }
+    return slotsOfTypeId[typeId];
   }
 
-  protected List<Integer> nullIndexesInAvailableCards() {
-    return IntStream.range(0, availableCards.size())
-        .filter(i -> availableCards.get(i) == null)
-        .boxed()
-        .collect(Collectors.toList());
+  private void growSlotsOfTypeId(int typeId) {
+    if (typeId >= slotsOfTypeId.length) {
+      slotsOfTypeId = Arrays.copyOf(slotsOfTypeId, Math.max(typeId + 1, slotsOfTypeId.length * 2));
+    }
   }
 }
@@ -6,12 +6,23 @@ public enum CardType {
   LEVEL_TWO_RESOURCE(2),
   BUILDING(3);
 
+  public static final int NUM_OF_CARD_TYPES = 4;
+
+  private static final CardType[] byValue = {BASIC_RESOURCE, LEVEL_ONE_RESOURCE, LEVEL_TWO_RESOURCE, BUILDING};
+
   private final int value;
 
   CardType(int value) {
     this.value = value;
   }
 
+  public static CardType fromValue(int value) {
+    if (value < 0 || value >= byValue.length) {
+      throw new IllegalArgumentException("Invalid value: " + value);
+    }
+    return byValue[value];
+  }
+
   public int getValue() {
     return value;
   }
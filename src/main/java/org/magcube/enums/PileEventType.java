@@ -0,0 +1,8 @@
+package org.magcube.enums;
+
+public enum PileEventType {
+  CARD_TAKEN,
+  CARD_DISCARDED,
+  SLOT_REFILLED,
+  DECK_RESHUFFLED
+}
@@ -0,0 +1,8 @@
+package org.magcube.enums;
+
+public enum RecipeType {
+  COST,
+  CAPITAL,
+  EFFECT_COST,
+  EFFECT_CAPITAL
+}
@@ -26,12 +26,17 @@ public interface Game {
 
   Player getWinner();
 
+  long getSeed();
+
   void setPlayers(NumOfPlayers numOfPlayers);
 
   void startGame() throws GameStartupException;
 
   GameBoardState gameBoardState();
 
+  // zobrist hash of the board, the players and the turn, kept up to date by every action
+  long stateHash();
+
   void tradeCardsByCoins(List<CardIdentity> targets)
       throws AlreadyTradedOrProducedException, CardIdentitiesException, ExceededMaxNumOfHandException, NotAvailableInGameBoardException, InvalidTradingException, GameEndException;
 
@@ -6,9 +6,12 @@ import static org.magcube.gameboard.GameBoards.sumOfCardsValue;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiPredicate;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGeneratorFactory;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.magcube.card.BuildingCard;
 import org.magcube.card.Card;
@@ -26,24 +29,53 @@ import org.magcube.exception.GameStartupException;
 import org.magcube.exception.InvalidTradingException;
 import org.magcube.exception.NotAvailableInGameBoardException;
 import org.magcube.exception.PlayerDoesNotOwnCardsException;
+import org.magcube.gameboard.BoardEvent;
+import org.magcube.gameboard.CategorizedCards;
 import org.magcube.gameboard.GameBoard;
 import org.magcube.gameboard.GameBoardState;
-import org.magcube.gameboard.GameBoards;
+import org.magcube.gameboard.ParsedCardIdentities;
 import org.magcube.player.Player;
 
 @Getter
 public class GameImpl implements Game {
 
+  private static final String RANDOM_ALGORITHM = "Xoroshiro128PlusPlus";
+
+  private final long seed;
+  @Getter(AccessLevel.NONE)
+  private JumpableGenerator random;
   private GameBoard gameBoard;
   private List<Player> players;
   private Player currentPlayer;
   private Player winner;
+  @Getter(AccessLevel.NONE)
+  private int currentPlayerIndex;
+  @Getter(AccessLevel.NONE)
+  private StateHash stateHash;
+  // reused by every action which discards cards to the game board
+  @Getter(AccessLevel.NONE)
+  private final CategorizedCards<Card> cardsForDiscard = new CategorizedCards<>();
+  // reused to parse the card identities of every action
+  @Getter(AccessLevel.NONE)
+  private final ParsedCardIdentities parsedTargets = new ParsedCardIdentities();
+  @Getter(AccessLevel.NONE)
+  private final ParsedCardIdentities parsedPayment = new ParsedCardIdentities();
 
   // todo: the following is temp implementation
   public GameImpl() {
+    this(ThreadLocalRandom.current().nextLong());
+  }
+
+  public GameImpl(long seed) {
+    this.seed = seed;
   }
 
   public GameImpl(NumOfPlayers numOfPlayers) {
+    this(numOfPlayers, ThreadLocalRandom.current().nextLong());
+  }
+
+  public GameImpl(NumOfPlayers numOfPlayers, long seed) {
+    this.seed = seed;
     players = new ArrayList<>();
     for (var i = 1; i <= numOfPlayers.getValue(); i++) {
       var tempPlayer = new Player(String.valueOf(i), "Player" + i);
@@ -51,6 +83,47 @@ public class GameImpl implements Game {
     }
   }
 
+  private GameImpl(GameImpl other) {
+    seed = other.seed;
+    copyStateFrom(other);
+  }
+
+  // independent game in the same state, the cards are shared as they never change
+  public GameImpl copy() {
+    return new GameImpl(this);
+  }
+
+  // puts the game back to the state of the snapshot, which stays unchanged and can be restored again
+  // the game board and its event listeners are kept, the players are replaced with copies
+  public void restore(GameImpl snapshot) {
+    if (snapshot.seed != seed) {
+      throw new IllegalArgumentException("Snapshot is from another game, seed: " + snapshot.seed);
+    }
+    copyStateFrom(snapshot);
+  }
+
+  private void copyStateFrom(GameImpl other) {
+    if (other.gameBoard == null) {
+      throw new IllegalStateException("Game is not started");
+    }
+    random = other.random.copy();
+    if (gameBoard == null) {
+      gameBoard = other.gameBoard.copy(random);
+      gameBoard.addEventListener(this::onBoardEvent);
+    } else {
+      gameBoard.restore(other.gameBoard, random);
+    }
+    var players = new ArrayList<Player>(other.players.size());
+    for (var player : other.players) {
+      players.add(player.copy());
+    }
+    this.players = Collections.unmodifiableList(players);
+    currentPlayerIndex = other.currentPlayerIndex;
+    currentPlayer = this.players.get(currentPlayerIndex);
+    winner = other.winner == null ? null : this.players.get(other.players.indexOf(other.winner));
+    stateHash = other.stateHash.copy();
+  }
+
   // todo: the following is temp implementation
   @Override
   public void setPlayers(NumOfPlayers numOfPlayers) {
@@ -68,16 +141,23 @@ public class GameImpl implements Game {
     ) {
       throw new GameStartupException();
     }
+    // every shuffle of the game is drawn from the seed, so the same seed replays the same game
+    random = RandomGeneratorFactory.<JumpableGenerator>of(RANDOM_ALGORITHM).create(seed);
     try {
-      gameBoard = new GameBoard(fromValue(players.size()));
+      gameBoard = new GameBoard(fromValue(players.size()), random);
     } catch (IllegalArgumentException ex) {
       throw new GameStartupException("failed to create game board with given argument:" + players.size() + ex.getMessage());
     }
-    Collections.shuffle(players);
+    for (var i = players.size() - 1; i > 0; i--) {
+      Collections.swap(players, i, random.nextInt(i + 1));
+    }
     players = Collections.unmodifiableList(players);
     distributeCoin();
-    currentPlayer = players.get(0);
+    currentPlayerIndex = 0;
+    currentPlayer = players.get(currentPlayerIndex);
     currentPlayer.setTradedOrPlayerProduced(false);
+    stateHash = StateHash.of(gameBoard.gameBoardState(), players, currentPlayerIndex, -1);
+    gameBoard.addEventListener(this::onBoardEvent);
   }
 
   @Override
@@ -85,21 +165,37 @@ public class GameImpl implements Game {
     return gameBoard.gameBoardState();
   }
 
+  @Override
+  public long stateHash() {
+    return stateHash.value();
+  }
+
+  // recomputes the hash from the whole state, stateHash is kept equal to it
+  long computeStateHash() {
+    return StateHash.of(gameBoard.gameBoardState(), players, currentPlayerIndex, players.indexOf(winner)).value();
+  }
+
+  private void onBoardEvent(BoardEvent boardEvent) {
+    stateHash.accept(boardEvent.pileEvent());
+  }
+
   @Override
   public void tradeCardsByCoins(List<CardIdentity> targets)
       throws AlreadyTradedOrProducedException, CardIdentitiesException, ExceededMaxNumOfHandException, NotAvailableInGameBoardException, InvalidTradingException, GameEndException {
     checkIsGameEnd();
     checkIsTradedOrPlayerProduced();
-    validateCardIdentities(targets);
-    checkWillExceedMaxNumOfResourceCard(targets);
-    var availableCardsInGameBoard = availableCardsInGameBoard(targets);
+    var parsedTargets = parseCardIdentities(targets, this.parsedTargets);
+    checkWillExceedMaxNumOfResourceCard(parsedTargets.numOfResourceCards());
+    var availableCardsInGameBoard = availableCardsInGameBoard(parsedTargets);
     var sumOfTargetsValue = sumOfCardsValue(availableCardsInGameBoard);
     if (currentPlayer.getCoin() < sumOfTargetsValue) {
       throw new InvalidTradingException(InvalidTradingMsg.PAYMENT_NO_ENOUGH);
     }
     playerTakeCardsFormGameBoard(availableCardsInGameBoard);
+    stateHash.toggleCounters(currentPlayerIndex, currentPlayer);
     currentPlayer.spendCoin();
     currentPlayer.setTradedOrPlayerProduced(true);
+    stateHash.toggleCounters(currentPlayerIndex, currentPlayer);
   }
 
   @Override
@@ -111,13 +207,14 @@ public class GameImpl implements Game {
     if (!(payment.size() == 1 || targets.size() == 1)) {
       throw new InvalidTradingException(InvalidTradingMsg.NOT_ONE_TO_N_OR_N_TO_ONE);
     }
-    validateCardIdentities(payment);
-    validateCardIdentities(targets);
-    checkWillExceedMaxNumOfResourceCard(targets, payment);
+    var parsedPayment = parseCardIdentities(payment, this.parsedPayment);
+    var parsedTargets = parseCardIdentities(targets, this.parsedTargets);
+    // building is not allow to discard
+    checkWillExceedMaxNumOfResourceCard(parsedTargets.numOfResourceCards(), parsedPayment.size());
 
-    var cardsForPayment = playerEquivalentResourcesCards(payment);
-    var categorizedCardsForDiscard = GameBoard.validateAndCategorizeDiscardCards(cardsForPayment);
-    var availableCardsInGameBoard = availableCardsInGameBoard(targets);
+    var cardsForPayment = playerEquivalentResourcesCards(parsedPayment);
+    var categorizedCardsForDiscard = GameBoard.validateAndCategorizeDiscardCards(cardsForPayment, cardsForDiscard);
+    var availableCardsInGameBoard = availableCardsInGameBoard(parsedTargets);
 
     var sumOfPaymentValue = sumOfCardsValue(cardsForPayment);
     var sumOfTargetsValue = sumOfCardsValue(availableCardsInGameBoard);
@@ -125,24 +222,24 @@ public class GameImpl implements Game {
       throw new InvalidTradingException(InvalidTradingMsg.PAYMENT_NO_ENOUGH);
     }
     playerTakeCardsFormGameBoard(availableCardsInGameBoard);
-    currentPlayer.discardCards(cardsForPayment);
+    playerDiscardCards(cardsForPayment);
     gameBoard.discardCards(categorizedCardsForDiscard);
-    currentPlayer.setTradedOrPlayerProduced(true);
+    setTradedOrPlayerProduced(true);
   }
 
   private void produceBySpentCost(List<CardIdentity> costCardIdentities, CardIdentity productCardIdentity,
       BiPredicate<List<CardIdentity>, Card> costMatchFn)
       throws CardIdentitiesException, PlayerDoesNotOwnCardsException, NotAvailableInGameBoardException, InvalidTradingException {
-    validateCardIdentities(costCardIdentities);
-    validateCardIdentities(List.of(productCardIdentity));
+    var parsedCost = parseCardIdentities(costCardIdentities, parsedPayment);
+    var parsedProduct = parseCardIdentities(List.of(productCardIdentity), parsedTargets);
 
     // currently, it is impossible to throw
     // because the cost size is always larger than or equal to 1 and the product size is always equal to 1
     // checkWillExceedMaxNumOfResourceCard(List.of(productCardIdentity), costCardIdentities);
 
-    var playerEquivalentResources = playerEquivalentResourcesCards(costCardIdentities);
-    var categorizedCardsForDiscard = GameBoard.validateAndCategorizeDiscardCards(playerEquivalentResources);
-    var cardsInGameBoard = availableCardsInGameBoard(List.of(productCardIdentity));
+    var playerEquivalentResources = playerEquivalentResourcesCards(parsedCost);
+    var categorizedCardsForDiscard = GameBoard.validateAndCategorizeDiscardCards(playerEquivalentResources, cardsForDiscard);
+    var cardsInGameBoard = availableCardsInGameBoard(parsedProduct);
 
     var productCard = cardsInGameBoard.get(productCardIdentity.cardType()).get(0);
 
@@ -152,7 +249,7 @@ public class GameImpl implements Game {
     }
 
     playerTakeCardsFormGameBoard(cardsInGameBoard);
-    currentPlayer.discardCards(playerEquivalentResources);
+    playerDiscardCards(playerEquivalentResources);
     gameBoard.discardCards(categorizedCardsForDiscard);
   }
 
@@ -168,18 +265,18 @@ public class GameImpl implements Game {
 
     produceBySpentCost(costCardIdentities, productCardIdentity, costMatchFn);
 
-    currentPlayer.setTradedOrPlayerProduced(true);
+    setTradedOrPlayerProduced(true);
   }
 
   private void produceByOwningCapital(List<CardIdentity> capitalCardIdentities, CardIdentity productCardIdentity,
       BiPredicate<List<CardIdentity>, Card> capitalMatchFn)
       throws ExceededMaxNumOfHandException, CardIdentitiesException, NotAvailableInGameBoardException, InvalidTradingException, PlayerDoesNotOwnCardsException {
     checkWillExceedMaxNumOfResourceCard(1);
-    validateCardIdentities(capitalCardIdentities);
-    validateCardIdentities(List.of(productCardIdentity));
-    checkPlayerOwnResourcesCards(capitalCardIdentities);
+    var parsedCapital = parseCardIdentities(capitalCardIdentities, parsedPayment);
+    var parsedProduct = parseCardIdentities(List.of(productCardIdentity), parsedTargets);
+    checkPlayerOwnResourcesCards(parsedCapital);
 
-    var cardsInGameBoard = availableCardsInGameBoard(List.of(productCardIdentity));
+    var cardsInGameBoard = availableCardsInGameBoard(parsedProduct);
 
     var productCard = cardsInGameBoard.get(productCardIdentity.cardType()).get(0);
 
@@ -202,7 +299,7 @@ public class GameImpl implements Game {
         && ((ResourceCard) productCard).capitalMatch(capitalCardIdentities);
 
     produceByOwningCapital(capitalCardIdentities, productCardIdentity, capitalMatchFn);
-    currentPlayer.setTradedOrPlayerProduced(true);
+    setTradedOrPlayerProduced(true);
   }
 
   private BuildingCard playerEquivalentBuildingCardWhichCanActivate(CardIdentity cardIdentity)
@@ -223,10 +320,10 @@ public class GameImpl implements Game {
     checkIsGameEnd();
     var building = playerEquivalentBuildingCardWhichCanActivate(buildingCardIdentity);
 
-    validateCardIdentities(costCardIdentities);
+    var parsedCost = parseCardIdentities(costCardIdentities, parsedPayment);
 
-    var playerEquivalentResources = playerEquivalentResourcesCards(costCardIdentities);
-    var categorizeDiscardCards = GameBoard.validateAndCategorizeDiscardCards(playerEquivalentResources);
+    var playerEquivalentResources = playerEquivalentResourcesCards(parsedCost);
+    var categorizeDiscardCards = GameBoard.validateAndCategorizeDiscardCards(playerEquivalentResources, cardsForDiscard);
 
     int effectPoints = building.getEffectPoints();
     if (effectPoints <= 0) {
@@ -238,10 +335,12 @@ public class GameImpl implements Game {
       throw new InvalidTradingException(InvalidTradingMsg.COST_NOT_MATCH);
     }
 
-    currentPlayer.activateBuilding(building);
-    currentPlayer.discardCards(playerEquivalentResources);
+    playerActivateBuilding(building);
+    playerDiscardCards(playerEquivalentResources);
     gameBoard.discardCards(categorizeDiscardCards);
+    stateHash.toggleCounters(currentPlayerIndex, currentPlayer);
     currentPlayer.addPointTokens(effectPoints);
+    stateHash.toggleCounters(currentPlayerIndex, currentPlayer);
   }
 
   private CardIdentity buildingProduct(BuildingCard card) throws BuildingActivationException {
@@ -264,7 +363,7 @@ public class GameImpl implements Game {
     BiPredicate<List<CardIdentity>, Card> costMatchFn = (costCards, productCard) -> building.effectCostMatch(costCards);
 
     produceBySpentCost(costCardIdentities, productCardIdentity, costMatchFn);
-    currentPlayer.activateBuilding(building);
+    playerActivateBuilding(building);
   }
 
   @Override
@@ -278,7 +377,7 @@ public class GameImpl implements Game {
     BiPredicate<List<CardIdentity>, Card> capitalMatchFn = (capitalCardIds, productCard) -> building.effectCapitalMatch(capitalCardIds);
 
     produceByOwningCapital(capitalCardIdentities, productCardIdentity, capitalMatchFn);
-    currentPlayer.activateBuilding(building);
+    playerActivateBuilding(building);
   }
 
   @Override
@@ -290,21 +389,38 @@ public class GameImpl implements Game {
     throw new RuntimeException("Not implemented yet!");
   }
 
-  private void playerTakeCardsFormGameBoard(HashMap<CardType, List<? extends Card>> categorizedCards) {
+  private void playerTakeCardsFormGameBoard(CategorizedCards<Card> categorizedCards) {
     gameBoard.takeCards(categorizedCards);
 
     var targetResourceCards = flattenResourceCardsFromCategorizedCards(categorizedCards);
     if (targetResourceCards.size() > 0) {
       currentPlayer.takeResourceCards(targetResourceCards);
+      stateHash.addAll(StateHash.playerLocation(currentPlayerIndex, StateHash.HAND), targetResourceCards);
     }
     if (categorizedCards.containsKey(CardType.BUILDING)) {
-      var targetBuildingCards = categorizedCards.get(CardType.BUILDING).stream()
-          .map(card -> (BuildingCard) card)
-          .toList();
+      @SuppressWarnings("unchecked")
+      var targetBuildingCards = (List<BuildingCard>) categorizedCards.get(CardType.BUILDING);
       currentPlayer.takeBuildingCards(targetBuildingCards);
+      stateHash.addAll(StateHash.playerLocation(currentPlayerIndex, StateHash.BUILDINGS), targetBuildingCards);
     }
   }
 
+  private void playerDiscardCards(List<ResourceCard> cards) {
+    currentPlayer.discardCards(cards);
+    stateHash.removeAll(StateHash.playerLocation(currentPlayerIndex, StateHash.HAND), cards);
+  }
+
+  private void playerActivateBuilding(BuildingCard building) {
+    currentPlayer.activateBuilding(building);
+    stateHash.add(StateHash.playerLocation(currentPlayerIndex, StateHash.ACTIVATED), building);
+  }
+
+  private void setTradedOrPlayerProduced(boolean isTradedOrPlayerProduced) {
+    stateHash.toggleCounters(currentPlayerIndex, currentPlayer);
+    currentPlayer.setTradedOrPlayerProduced(isTradedOrPlayerProduced);
+    stateHash.toggleCounters(currentPlayerIndex, currentPlayer);
+  }
+
   private void distributeCoin() {
     var coins = 3;
     for (var player : players) {
@@ -314,13 +430,20 @@ public class GameImpl implements Game {
 
   @Override
   public void endTurn() {
+    stateHash.removeAll(StateHash.playerLocation(currentPlayerIndex, StateHash.ACTIVATED), currentPlayer.getActivatedBuildings());
     currentPlayer.resetActivatedBuildings();
-    currentPlayer = players.get((players.indexOf(currentPlayer) + 1) % players.size());
+    stateHash.toggleCurrentPlayer(currentPlayerIndex);
+    currentPlayerIndex = (players.indexOf(currentPlayer) + 1) % players.size();
+    currentPlayer = players.get(currentPlayerIndex);
+    stateHash.toggleCurrentPlayer(currentPlayerIndex);
     gameBoard.refillCards();
-    currentPlayer.setTradedOrPlayerProduced(false);
+    setTradedOrPlayerProduced(false);
 
     if (currentPlayer.points() >= 10) {
+      // end turn may still run after the game is won, the previous winner is keyed off first
+      stateHash.toggleWinner(players.indexOf(winner));
       winner = currentPlayer;
+      stateHash.toggleWinner(currentPlayerIndex);
     }
   }
 
@@ -330,7 +453,7 @@ public class GameImpl implements Game {
     }
   }
 
-  private HashMap<CardType, List<? extends Card>> availableCardsInGameBoard(List<CardIdentity> cardIdentities)
+  private CategorizedCards<Card> availableCardsInGameBoard(List<CardIdentity> cardIdentities)
       throws NotAvailableInGameBoardException {
     var optCards = gameBoard.cardsInDisplay(cardIdentities);
     if (optCards.isEmpty()) {
@@ -357,25 +480,12 @@ public class GameImpl implements Game {
     }
   }
 
-  private void checkWillExceedMaxNumOfResourceCard(List<CardIdentity> cardIdentities) throws ExceededMaxNumOfHandException {
-    int take = (int) cardIdentities.stream().filter(cardIdentity -> cardIdentity.cardType() != CardType.BUILDING).count();
-    checkWillExceedMaxNumOfResourceCard(take);
-  }
-
-  private void checkWillExceedMaxNumOfResourceCard(List<CardIdentity> take, List<CardIdentity> discard) throws ExceededMaxNumOfHandException {
-    int takeCount = (int) take.stream().filter(cardIdentity -> cardIdentity.cardType() != CardType.BUILDING).count();
-    // building is not allow to discard
-    int discardCount = discard.size();
-    checkWillExceedMaxNumOfResourceCard(takeCount, discardCount);
-  }
-
-  private void validateCardIdentities(List<CardIdentity> cardIdentities) throws CardIdentitiesException {
-    if (cardIdentities.isEmpty()) {
-      throw new CardIdentitiesException();
-    }
-    if (!GameBoards.isCardIdentitiesValid(cardIdentities)) {
+  private ParsedCardIdentities parseCardIdentities(List<CardIdentity> cardIdentities, ParsedCardIdentities into)
+      throws CardIdentitiesException {
+    if (!into.parse(cardIdentities)) {
       throw new CardIdentitiesException();
     }
+    return into;
   }
 
   private List<ResourceCard> playerEquivalentResourcesCards(List<CardIdentity> payment) throws PlayerDoesNotOwnCardsException {
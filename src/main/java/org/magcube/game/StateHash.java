@@ -0,0 +1,179 @@
+package org.magcube.game;
+
+import java.util.List;
+import org.magcube.card.Card;
+import org.magcube.card.CardData;
+import org.magcube.card.CardIdentity;
+import org.magcube.displayingpile.PileEvent;
+import org.magcube.displayingpile.PileState;
+import org.magcube.enums.CardType;
+import org.magcube.gameboard.GameBoardState;
+import org.magcube.player.Player;
+
+// 64 bit zobrist hash of the game state, updated as cards move and counters change
+// a card is keyed by its location, its packed identity and the number of cards of the identity already there,
+// so the same cards in the same locations always hash equally, the order of the decks and the slots is not hashed
+final class StateHash {
+
+  // locations of the board, the pile is part of the packed identity
+  static final int DISPLAY = 0;
+  static final int DECK = 1;
+  static final int DISCARD = 2;
+  private static final int NUM_OF_BOARD_LOCATIONS = 3;
+
+  // locations of each player
+  static final int HAND = 0;
+  static final int BUILDINGS = 1;
+  static final int ACTIVATED = 2;
+  private static final int NUM_OF_PLAYER_LOCATIONS = 3;
+
+  // counters are keyed apart from the locations
+  private static final int COUNTER_BASE = 1 << 16;
+  private static final int COIN = 0;
+  private static final int POINT_TOKENS = 1;
+  private static final int TRADED_OR_PRODUCED = 2;
+  private static final int CURRENT_PLAYER = 3;
+  private static final int WINNER = 4;
+  private static final int NUM_OF_COUNTERS = 5;
+
+  // type ids of the card data are below the stride, the counts of a location take a stride per card type
+  private static final int TYPE_ID_STRIDE = CardData.maxTypeId.values().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+  private static final int COUNTS_PER_LOCATION = CardType.NUM_OF_CARD_TYPES * TYPE_ID_STRIDE;
+
+  // number of cards of each identity in each location, in one array so a copy is a single clone
+  private final int[] counts;
+  private long hash;
+
+  private StateHash(int numOfPlayers) {
+    counts = new int[(NUM_OF_BOARD_LOCATIONS + numOfPlayers * NUM_OF_PLAYER_LOCATIONS) * COUNTS_PER_LOCATION];
+  }
+
+  private StateHash(StateHash other) {
+    counts = other.counts.clone();
+    hash = other.hash;
+  }
+
+  static StateHash of(GameBoardState gameBoardState, List<Player> players, int currentPlayerIndex, int winnerIndex) {
+    var stateHash = new StateHash(players.size());
+    stateHash.addPile(gameBoardState.basicResource());
+    stateHash.addPile(gameBoardState.levelOneResource());
+    stateHash.addPile(gameBoardState.levelTwoResource());
+    stateHash.addPile(gameBoardState.building());
+    for (int i = 0; i < players.size(); i++) {
+      var player = players.get(i);
+      stateHash.addAll(playerLocation(i, HAND), player.getResources());
+      stateHash.addAll(playerLocation(i, BUILDINGS), player.getBuildings());
+      stateHash.addAll(playerLocation(i, ACTIVATED), player.getActivatedBuildings());
+      stateHash.toggleCounters(i, player);
+    }
+    stateHash.toggleCurrentPlayer(currentPlayerIndex);
+    stateHash.toggleWinner(winnerIndex);
+    return stateHash;
+  }
+
+  StateHash copy() {
+    return new StateHash(this);
+  }
+
+  long value() {
+    return hash;
+  }
+
+  static int playerLocation(int playerIndex, int kind) {
+    return NUM_OF_BOARD_LOCATIONS + playerIndex * NUM_OF_PLAYER_LOCATIONS + kind;
+  }
+
+  void accept(PileEvent pileEvent) {
+    var card = pileEvent.card();
+    switch (pileEvent.type()) {
+      case CARD_TAKEN -> remove(DISPLAY, card);
+      // the basic resources go back to their slot, the others to the discard pile
+      case CARD_DISCARDED -> add(pileEvent.slot() == PileEvent.NO_SLOT ? DISCARD : DISPLAY, card);
+      case SLOT_REFILLED -> {
+        remove(DECK, card);
+        add(DISPLAY, card);
+      }
+      case DECK_RESHUFFLED -> moveAll(DISCARD, DECK, pileEvent.cardType());
+    }
+  }
+
+  void add(int location, Card card) {
+    var cardIdentity = card.getCardIdentity();
+    hash ^= key(location, cardIdentity.packed(), counts[countIndex(location, cardIdentity.cardType(), cardIdentity.typeId())]++);
+  }
+
+  void remove(int location, Card card) {
+    var cardIdentity = card.getCardIdentity();
+    hash ^= key(location, cardIdentity.packed(), --counts[countIndex(location, cardIdentity.cardType(), cardIdentity.typeId())]);
+  }
+
+  void addAll(int location, List<? extends Card> cards) {
+    for (int i = 0; i < cards.size(); i++) {
+      add(location, cards.get(i));
+    }
+  }
+
+  void removeAll(int location, List<? extends Card> cards) {
+    for (int i = 0; i < cards.size(); i++) {
+      remove(location, cards.get(i));
+    }
+  }
+
+  // xor of a player's counters, call it before and after a change to re-key them
+  void toggleCounters(int playerIndex, Player player) {
+    hash ^= counterKey(playerIndex, COIN, player.getCoin());
+    hash ^= counterKey(playerIndex, POINT_TOKENS, player.getPointTokens());
+    if (player.isTradedOrPlayerProduced()) {
+      hash ^= counterKey(playerIndex, TRADED_OR_PRODUCED, 1);
+    }
+  }
+
+  void toggleCurrentPlayer(int playerIndex) {
+    hash ^= counterKey(playerIndex, CURRENT_PLAYER, 1);
+  }
+
+  // no winner is keyed as index -1
+  void toggleWinner(int playerIndex) {
+    hash ^= counterKey(playerIndex, WINNER, 1);
+  }
+
+  private void addPile(PileState<? extends Card> pileState) {
+    for (var cards : pileState.displaying()) {
+      addAll(DISPLAY, cards);
+    }
+    addAll(DECK, pileState.deck());
+    addAll(DISCARD, pileState.discardPile());
+  }
+
+  private void moveAll(int from, int to, CardType cardType) {
+    for (var typeId = 0; typeId < TYPE_ID_STRIDE; typeId++) {
+      var packed = CardIdentity.pack(cardType, typeId);
+      var fromIndex = countIndex(from, cardType, typeId);
+      var toIndex = countIndex(to, cardType, typeId);
+      while (counts[fromIndex] > 0) {
+        hash ^= key(from, packed, --counts[fromIndex]);
+        hash ^= key(to, packed, counts[toIndex]++);
+      }
+    }
+  }
+
+  private static int countIndex(int location, CardType cardType, int typeId) {
+    return location * COUNTS_PER_LOCATION + cardType.getValue() * TYPE_ID_STRIDE + typeId;
+  }
+
+  private static long counterKey(int playerIndex, int counter, int value) {
+    return key(COUNTER_BASE + (playerIndex + 1) * NUM_OF_COUNTERS + counter, 0, value);
+  }
+
+  private static long key(int location, int packed, int index) {
+    return mix(mix(mix(location) ^ packed) ^ index);
+  }
+
+  // splitmix64, spreads consecutive inputs over the whole 64 bits
+  private static long mix(long x) {
+    var z = x + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
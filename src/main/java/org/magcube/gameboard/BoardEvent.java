@@ -0,0 +1,8 @@
+package org.magcube.gameboard;
+
+import org.magcube.displayingpile.PileEvent;
+
+// sequence orders the events of all piles of a game board
+public record BoardEvent(long sequence, PileEvent pileEvent) {
+
+}
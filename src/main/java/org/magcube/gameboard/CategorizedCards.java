@@ -0,0 +1,111 @@
+package org.magcube.gameboard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.magcube.enums.CardType;
+
+// cards or card identities grouped by card type, the groups are indexed by CardType.getValue()
+// the lists created by add are kept on clear, so one instance can be reused for each request
+public class CategorizedCards<T> {
+
+  private final List<? extends T>[] categories;
+  private final ArrayList<T>[] owned;
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  public CategorizedCards() {
+    categories = (List<? extends T>[]) new List<?>[CardType.NUM_OF_CARD_TYPES];
+    owned = (ArrayList<T>[]) new ArrayList<?>[CardType.NUM_OF_CARD_TYPES];
+  }
+
+  public void add(CardType cardType, T card) {
+    var index = cardType.getValue();
+    if (categories[index] == null) {
+      if (owned[index] == null) {
+        owned[index] = new ArrayList<>();
+      }
+      categories[index] = owned[index];
+      size++;
+    } else if (categories[index] != owned[index]) {
+      throw new IllegalStateException("Cannot add to a list which is put: " + cardType);
+    }
+    owned[index].add(card);
+  }
+
+  // keeps the list itself, e.g. the reservation returned by a pile
+  public void put(CardType cardType, List<? extends T> cards) {
+    var index = cardType.getValue();
+    if (categories[index] == null) {
+      size++;
+    }
+    categories[index] = Objects.requireNonNull(cards);
+  }
+
+  public List<? extends T> get(CardType cardType) {
+    var cards = categories[cardType.getValue()];
+    return cards == null ? List.of() : cards;
+  }
+
+  public boolean containsKey(CardType cardType) {
+    return categories[cardType.getValue()] != null;
+  }
+
+  // number of card types with a list
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    for (int i = 0; i < categories.length; i++) {
+      if (owned[i] != null) {
+        owned[i].clear();
+      }
+      categories[i] = null;
+    }
+    size = 0;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CategorizedCards<?> that)) {
+      return false;
+    }
+    for (int i = 0; i < categories.length; i++) {
+      if (!Objects.equals(categories[i], that.categories[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    var hash = 1;
+    for (var cards : categories) {
+      hash = 31 * hash + Objects.hashCode(cards);
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    var builder = new StringBuilder("{");
+    for (int i = 0; i < categories.length; i++) {
+      if (categories[i] != null) {
+        if (builder.length() > 1) {
+          builder.append(", ");
+        }
+        builder.append(CardType.fromValue(i)).append('=').append(categories[i]);
+      }
+    }
+    return builder.append('}').toString();
+  }
+}
@@ -1,8 +1,11 @@
 package org.magcube.gameboard;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
 import org.magcube.card.BuildingCard;
 import org.magcube.card.Card;
 import org.magcube.card.CardDeck;
@@ -13,6 +16,7 @@ import org.magcube.displayingpile.BuildingPile;
 import org.magcube.displayingpile.DisplayingPile;
 import org.magcube.displayingpile.LevelOneResourcePile;
 import org.magcube.displayingpile.LevelTwoResourcePile;
+import org.magcube.displayingpile.PileEvent;
 import org.magcube.displayingpile.PileState;
 import org.magcube.enums.CardType;
 import org.magcube.enums.NumOfPlayers;
@@ -20,17 +24,62 @@ import org.magcube.exception.CardIdentitiesException;
 
 public class GameBoard {
 
-  private final DisplayingPile<ResourceCard> basicResourcesPile;
-  private final DisplayingPile<ResourceCard> levelOneResourcesPile;
-  private final DisplayingPile<ResourceCard> levelTwoResourcesPile;
-  private final DisplayingPile<BuildingCard> buildingPile;
+  private DisplayingPile<ResourceCard> basicResourcesPile;
+  private DisplayingPile<ResourceCard> levelOneResourcesPile;
+  private DisplayingPile<ResourceCard> levelTwoResourcesPile;
+  private DisplayingPile<BuildingCard> buildingPile;
+  private final CategorizedCards<CardIdentity> categorizedCardIdentities = new CategorizedCards<>();
+  private final List<Consumer<BoardEvent>> eventListeners = new ArrayList<>();
+  private long nextEventSequence;
 
   public GameBoard(NumOfPlayers numOfPlayers) {
+    this(numOfPlayers, RandomGenerator.getDefault());
+  }
+
+  public GameBoard(NumOfPlayers numOfPlayers, RandomGenerator random) {
+    this(numOfPlayers, random, BasicResourceDisplayingPile::new);
+  }
+
+  // the basic resource pile can be replaced, e.g. by CountingBasicResourcePile::new
+  public GameBoard(NumOfPlayers numOfPlayers, RandomGenerator random,
+      Function<List<ResourceCard>, DisplayingPile<ResourceCard>> basicResourcePileFactory) {
     var deck = CardDeck.get(numOfPlayers);
-    basicResourcesPile = new BasicResourceDisplayingPile(deck.basicResource);
-    levelOneResourcesPile = new LevelOneResourcePile(deck.levelOneResource);
-    levelTwoResourcesPile = new LevelTwoResourcePile(deck.levelTwoResource);
-    buildingPile = new BuildingPile(deck.building, numOfPlayers);
+    basicResourcesPile = basicResourcePileFactory.apply(deck.basicResource);
+    levelOneResourcesPile = new LevelOneResourcePile(deck.levelOneResource, random);
+    levelTwoResourcesPile = new LevelTwoResourcePile(deck.levelTwoResource, random);
+    buildingPile = new BuildingPile(deck.building, numOfPlayers, random);
+    listenToPiles();
+  }
+
+  private GameBoard(GameBoard other, RandomGenerator random) {
+    copyPilesFrom(other, random);
+    nextEventSequence = other.nextEventSequence;
+  }
+
+  // independent copy sharing the cards, the piles draw from the given generator and no listener is copied
+  public GameBoard copy(RandomGenerator random) {
+    return new GameBoard(this, random);
+  }
+
+  // replaces the piles and the event sequence with the snapshot's, the event listeners of this board are kept
+  public void restore(GameBoard snapshot, RandomGenerator random) {
+    copyPilesFrom(snapshot, random);
+    nextEventSequence = snapshot.nextEventSequence;
+  }
+
+  private void copyPilesFrom(GameBoard other, RandomGenerator random) {
+    basicResourcesPile = other.basicResourcesPile.copy(random);
+    levelOneResourcesPile = other.levelOneResourcesPile.copy(random);
+    levelTwoResourcesPile = other.levelTwoResourcesPile.copy(random);
+    buildingPile = other.buildingPile.copy(random);
+    listenToPiles();
+  }
+
+  private void listenToPiles() {
+    basicResourcesPile.setEventListener(this::onPileEvent);
+    levelOneResourcesPile.setEventListener(this::onPileEvent);
+    levelTwoResourcesPile.setEventListener(this::onPileEvent);
+    buildingPile.setEventListener(this::onPileEvent);
   }
 
   public PileState<? extends Card> pileState(CardType cardType) {
@@ -46,13 +95,21 @@ public class GameBoard {
         buildingPile.pileState());
   }
 
-  public Optional<HashMap<CardType, List<? extends Card>>> cardsInDisplay(List<CardIdentity> cardIdentities) {
-    var categorizedCardIdentities = GameBoards.categorizeCardIdentities(cardIdentities);
-    var categorizedCards = new HashMap<CardType, List<? extends Card>>();
-    for (var entry : categorizedCardIdentities.entrySet()) {
-      var cardType = entry.getKey();
+  public Optional<CategorizedCards<Card>> cardsInDisplay(List<CardIdentity> cardIdentities) {
+    var categorizedCardIdentities = cardIdentities instanceof ParsedCardIdentities parsedCardIdentities
+        ? parsedCardIdentities.categorized()
+        : GameBoards.categorizeCardIdentities(cardIdentities, this.categorizedCardIdentities);
+    var categorizedCards = new CategorizedCards<Card>();
+    for (int i = 0; i < CardType.NUM_OF_CARD_TYPES; i++) {
+      var cardType = CardType.fromValue(i);
+      if (!categorizedCardIdentities.containsKey(cardType)) {
+        continue;
+      }
       var pile = cardType == CardType.BUILDING ? getBuildingPile() : getResourcePile(cardType);
-      var optCards = pile.cardsInDisplay(entry.getValue());
+      // card identity is a record, a list of a subtype is not possible
+      @SuppressWarnings("unchecked")
+      var identities = (List<CardIdentity>) categorizedCardIdentities.get(cardType);
+      var optCards = pile.cardsInDisplay(identities);
       if (optCards.isEmpty()) {
         return Optional.empty();
       }
@@ -61,37 +118,48 @@ public class GameBoard {
     return Optional.of(categorizedCards);
   }
 
-  public void takeCards(HashMap<CardType, List<? extends Card>> categorizedCards) {
-    for (var entry : categorizedCards.entrySet()) {
-      var cardType = entry.getKey();
+  public void takeCards(CategorizedCards<? extends Card> categorizedCards) {
+    for (int i = 0; i < CardType.NUM_OF_CARD_TYPES; i++) {
+      var cardType = CardType.fromValue(i);
+      if (!categorizedCards.containsKey(cardType)) {
+        continue;
+      }
       if (cardType == CardType.BUILDING) {
         var pile = getBuildingPile();
         @SuppressWarnings("unchecked")
-        var cards = (List<BuildingCard>) entry.getValue();
+        var cards = (List<BuildingCard>) categorizedCards.get(cardType);
         pile.takeCards(cards);
       } else {
         var pile = getResourcePile(cardType);
         @SuppressWarnings("unchecked")
-        var cards = (List<ResourceCard>) entry.getValue();
+        var cards = (List<ResourceCard>) categorizedCards.get(cardType);
         pile.takeCards(cards);
       }
     }
   }
 
-  public static HashMap<CardType, List<? extends Card>> validateAndCategorizeDiscardCards(List<? extends Card> cards) throws CardIdentitiesException {
+  public static CategorizedCards<Card> validateAndCategorizeDiscardCards(List<? extends Card> cards) throws CardIdentitiesException {
+    return validateAndCategorizeDiscardCards(cards, new CategorizedCards<>());
+  }
+
+  public static CategorizedCards<Card> validateAndCategorizeDiscardCards(List<? extends Card> cards, CategorizedCards<Card> into)
+      throws CardIdentitiesException {
     if (!GameBoards.isCardsValidate(cards) || !GameBoards.isNoBuildingCards(cards)) {
       throw new CardIdentitiesException();
     }
-    return GameBoards.categorizeCards(cards);
+    return GameBoards.categorizeCards(cards, into);
   }
 
-  public void discardCards(HashMap<CardType, List<? extends Card>> categorizedCards) {
-    for (var entry : categorizedCards.entrySet()) {
-      var cardType = entry.getKey();
+  public void discardCards(CategorizedCards<? extends Card> categorizedCards) {
+    for (int i = 0; i < CardType.NUM_OF_CARD_TYPES; i++) {
+      var cardType = CardType.fromValue(i);
+      if (!categorizedCards.containsKey(cardType)) {
+        continue;
+      }
       var pile = getResourcePile(cardType);
       // checked by validateAndCategorizeDiscardCards method
       @SuppressWarnings("unchecked")
-      var cards = (List<ResourceCard>) entry.getValue();
+      var cards = (List<ResourceCard>) categorizedCards.get(cardType);
       pile.discardCards(cards);
     }
   }
@@ -102,6 +170,26 @@ public class GameBoard {
     levelTwoResourcesPile.refillCards();
   }
 
+  public double displayProbabilityAfterRefill(CardIdentity cardIdentity) {
+    var pile = (cardIdentity.cardType() == CardType.BUILDING) ? getBuildingPile() : getResourcePile(cardIdentity.cardType());
+    return pile.displayProbabilityAfterRefill(cardIdentity);
+  }
+
+  public void addEventListener(Consumer<BoardEvent> listener) {
+    eventListeners.add(listener);
+  }
+
+  public void removeEventListener(Consumer<BoardEvent> listener) {
+    eventListeners.remove(listener);
+  }
+
+  private void onPileEvent(PileEvent pileEvent) {
+    var boardEvent = new BoardEvent(nextEventSequence++, pileEvent);
+    for (var listener : eventListeners) {
+      listener.accept(boardEvent);
+    }
+  }
+
   private DisplayingPile<ResourceCard> getResourcePile(CardType cardType) {
     return switch (cardType) {
       case BASIC_RESOURCE -> basicResourcesPile;
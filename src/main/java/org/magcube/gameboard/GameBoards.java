@@ -2,12 +2,7 @@ package org.magcube.gameboard;
 
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.function.BiConsumer;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import org.magcube.card.BuildingCard;
 import org.magcube.card.Card;
 import org.magcube.card.CardData;
@@ -20,72 +15,72 @@ public class GameBoards {
   private GameBoards() {
   }
 
-  public static HashMap<CardType, List<CardIdentity>> categorizeCardIdentities(List<CardIdentity> cardIdentities) {
-    HashMap<CardType, List<CardIdentity>> data = new HashMap<>();
-    for (var cardIdentity : cardIdentities) {
-      data.computeIfAbsent(cardIdentity.cardType(), k -> new ArrayList<>()).add(cardIdentity);
-    }
-    return data;
+  public static CategorizedCards<CardIdentity> categorizeCardIdentities(List<CardIdentity> cardIdentities) {
+    return categorizeCardIdentities(cardIdentities, new CategorizedCards<>());
   }
 
-  public static HashMap<CardType, List<? extends Card>> categorizeCards(List<? extends Card> cards) {
-    HashMap<CardType, List<? extends Card>> data = new HashMap<>();
-
-    BiConsumer<CardType, ResourceCard> putResourceCard = (cardType, card) -> {
-      @SuppressWarnings("unchecked")
-      ArrayList<ResourceCard> list = (ArrayList<ResourceCard>) data.computeIfAbsent(cardType, k -> new ArrayList<ResourceCard>());
-      list.add(card);
-    };
+  // clears and fills the given container, so it can be reused by the caller
+  public static CategorizedCards<CardIdentity> categorizeCardIdentities(List<CardIdentity> cardIdentities,
+      CategorizedCards<CardIdentity> into) {
+    into.clear();
+    for (int i = 0; i < cardIdentities.size(); i++) {
+      var cardIdentity = cardIdentities.get(i);
+      into.add(cardIdentity.cardType(), cardIdentity);
+    }
+    return into;
+  }
 
-    Consumer<BuildingCard> putBuildingCard = (card) -> {
-      @SuppressWarnings("unchecked")
-      ArrayList<BuildingCard> list = (ArrayList<BuildingCard>) data.computeIfAbsent(CardType.BUILDING, k -> new ArrayList<BuildingCard>());
-      list.add(card);
-    };
+  public static CategorizedCards<Card> categorizeCards(List<? extends Card> cards) {
+    return categorizeCards(cards, new CategorizedCards<>());
+  }
 
-    for (var card : cards) {
-      switch (card.cardType()) {
-        case BASIC_RESOURCE -> putResourceCard.accept(CardType.BASIC_RESOURCE, (ResourceCard) card);
-        case LEVEL_ONE_RESOURCE -> putResourceCard.accept(CardType.LEVEL_ONE_RESOURCE, (ResourceCard) card);
-        case LEVEL_TWO_RESOURCE -> putResourceCard.accept(CardType.LEVEL_TWO_RESOURCE, (ResourceCard) card);
-        case BUILDING -> putBuildingCard.accept((BuildingCard) card);
-      }
+  public static CategorizedCards<Card> categorizeCards(List<? extends Card> cards, CategorizedCards<Card> into) {
+    into.clear();
+    for (int i = 0; i < cards.size(); i++) {
+      var card = cards.get(i);
+      into.add(card.cardType(), card);
     }
-
-    return data;
+    return into;
   }
 
   public static boolean isCardIdentitiesValid(List<CardIdentity> cardIdentities) {
     for (var cardIdentity : cardIdentities) {
-      var cardType = cardIdentity.cardType();
-      if (cardType == null) {
+      if (!isCardIdentityValid(cardIdentity)) {
         return false;
-      } else {
-        var typeId = cardIdentity.typeId();
-        if (typeId > CardData.maxTypeId.get(cardType) || typeId < 1) {
-          return false;
-        }
       }
     }
     return true;
   }
 
+  public static boolean isCardIdentityValid(CardIdentity cardIdentity) {
+    return CardData.isValid(cardIdentity);
+  }
+
   public static boolean isClassValid(List<? extends Card> cards) {
-    for (var card : cards) {
-      var isValid = switch (card.cardType()) {
-        case BASIC_RESOURCE, LEVEL_ONE_RESOURCE, LEVEL_TWO_RESOURCE -> card instanceof ResourceCard;
-        case BUILDING -> card instanceof BuildingCard;
-      };
-      if (!isValid) {
+    for (int i = 0; i < cards.size(); i++) {
+      if (!isClassValid(cards.get(i))) {
         return false;
       }
     }
     return true;
   }
 
+  private static boolean isClassValid(Card card) {
+    return switch (card.cardType()) {
+      case BASIC_RESOURCE, LEVEL_ONE_RESOURCE, LEVEL_TWO_RESOURCE -> card instanceof ResourceCard;
+      case BUILDING -> card instanceof BuildingCard;
+    };
+  }
+
+  // one pass over the cards, the identity is checked first as the card type of an invalid identity can be null
   public static boolean isCardsValidate(List<? extends Card> cards) {
-    return isCardIdentitiesValid(cards.stream().map(Card::getCardIdentity).collect(Collectors.toList())) &&
-        isClassValid(cards);
+    for (int i = 0; i < cards.size(); i++) {
+      var card = cards.get(i);
+      if (!isCardIdentityValid(card.getCardIdentity()) || !isClassValid(card)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public static boolean isNoBuildingCards(List<? extends Card> cards) {
@@ -93,23 +88,56 @@ public class GameBoards {
   }
 
   public static int sumOfCardsValue(List<? extends Card> cards) {
-    return cards.stream().mapToInt(Card::getValue).sum();
+    var sum = 0;
+    for (int i = 0; i < cards.size(); i++) {
+      sum += cards.get(i).getValue();
+    }
+    return sum;
+  }
+
+  public static int sumOfCardsValue(CategorizedCards<? extends Card> categorizedCards) {
+    var sum = 0;
+    for (int i = 0; i < CardType.NUM_OF_CARD_TYPES; i++) {
+      sum += sumOfCardsValue(categorizedCards.get(CardType.fromValue(i)));
+    }
+    return sum;
+  }
+
+  // prices the cards by the card data without resolving the physical cards, the identities must be valid
+  public static int sumOfCardsValue(CardIdentity[] cardIdentities) {
+    var sum = 0;
+    for (var cardIdentity : cardIdentities) {
+      sum += valueOf(cardIdentity);
+    }
+    return sum;
+  }
+
+  // not an overload of sumOfCardsValue, which would clash with the list of cards after erasure
+  public static int sumOfCardIdentitiesValue(List<CardIdentity> cardIdentities) {
+    var sum = 0;
+    for (int i = 0; i < cardIdentities.size(); i++) {
+      sum += valueOf(cardIdentities.get(i));
+    }
+    return sum;
   }
 
-  public static int sumOfCardsValue(HashMap<CardType, List<? extends Card>> categorizedCards) {
-    return categorizedCards.values().stream()
-        .flatMap(Collection::stream)
-        .mapToInt(Card::getValue)
-        .sum();
+  private static int valueOf(CardIdentity cardIdentity) {
+    var value = CardData.valueOf(cardIdentity);
+    if (value == CardData.NO_VALUE) {
+      throw new IllegalArgumentException("Card identity is not in the card data: " + cardIdentity);
+    }
+    return value;
   }
 
-  public static List<ResourceCard> flattenResourceCardsFromCategorizedCards(HashMap<CardType, List<? extends Card>> categorizedCards) {
+  public static List<ResourceCard> flattenResourceCardsFromCategorizedCards(CategorizedCards<? extends Card> categorizedCards) {
     var resourceCards = new ArrayList<ResourceCard>();
-    for (var cardType : categorizedCards.keySet()) {
+    for (int i = 0; i < CardType.NUM_OF_CARD_TYPES; i++) {
+      var cardType = CardType.fromValue(i);
       if (cardType != CardType.BUILDING) {
-        resourceCards.addAll(categorizedCards.get(cardType).stream()
-            .map(card -> (ResourceCard) card)
-            .toList());
+        var cards = categorizedCards.get(cardType);
+        for (int j = 0; j < cards.size(); j++) {
+          resourceCards.add((ResourceCard) cards.get(j));
+        }
       }
     }
     return resourceCards;
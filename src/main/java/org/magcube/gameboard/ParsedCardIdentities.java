@@ -0,0 +1,66 @@
+package org.magcube.gameboard;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.magcube.card.CardIdentity;
+import org.magcube.enums.CardType;
+
+// card identities of a request, validated, counted and categorized in one pass
+// it is still a list, GameBoard uses the categorized identities instead of categorizing them again
+// one instance can be reused for each request
+public class ParsedCardIdentities extends AbstractList<CardIdentity> implements RandomAccess {
+
+  private final ArrayList<CardIdentity> cardIdentities = new ArrayList<>();
+  private final CategorizedCards<CardIdentity> categorized = new CategorizedCards<>();
+  private int numOfResourceCards;
+
+  // false if the identities are empty or any of them is invalid, nothing is kept in that case
+  public boolean parse(List<CardIdentity> cardIdentities) {
+    clear();
+    if (cardIdentities.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < cardIdentities.size(); i++) {
+      var cardIdentity = cardIdentities.get(i);
+      if (!GameBoards.isCardIdentityValid(cardIdentity)) {
+        clear();
+        return false;
+      }
+      var cardType = cardIdentity.cardType();
+      if (cardType != CardType.BUILDING) {
+        numOfResourceCards++;
+      }
+      this.cardIdentities.add(cardIdentity);
+      categorized.add(cardType, cardIdentity);
+    }
+    return true;
+  }
+
+  public int numOfResourceCards() {
+    return numOfResourceCards;
+  }
+
+  CategorizedCards<CardIdentity> categorized() {
+    return categorized;
+  }
+
+  @Override
+  public CardIdentity get(int index) {
+    return cardIdentities.get(index);
+  }
+
+  @Override
+  public int size() {
+    return cardIdentities.size();
+  }
+
+  @Override
+  public void clear() {
+    cardIdentities.clear();
+    categorized.clear();
+    numOfResourceCards = 0;
+    modCount++;
+  }
+}
@@ -31,6 +31,18 @@ public class Player {
     this.name = name;
   }
 
+  // independent copy sharing the cards
+  public Player copy() {
+    var player = new Player(id, name);
+    player.resources.addAll(resources);
+    player.buildings.addAll(buildings);
+    player.activatedBuildings.addAll(activatedBuildings);
+    player.coin = coin;
+    player.pointTokens = pointTokens;
+    player.isTradedOrPlayerProduced = isTradedOrPlayerProduced;
+    return player;
+  }
+
   public List<Card> getResources() {
     return Collections.unmodifiableList(this.resources);
   }
@@ -78,22 +90,29 @@ public class Player {
 
   @Nullable
   public List<ResourceCard> equivalentResources(List<CardIdentity> cardIdentities) {
-    var resourcesClone = new ArrayList<>(resources);
-    var equivalentCards = new ArrayList<ResourceCard>();
+    var used = new boolean[resources.size()];
+    var equivalentCards = new ArrayList<ResourceCard>(cardIdentities.size());
     for (var cardIdentity : cardIdentities) {
-      var cardInClone = resourcesClone.stream().filter(x -> x.isIdentical(cardIdentity)).findFirst();
-      if (cardInClone.isEmpty()) {
+      var index = indexOfUnusedResource(cardIdentity, used);
+      if (index < 0) {
         return null;
-      } else {
-        var card = cardInClone.get();
-        resourcesClone.remove(card);
-        equivalentCards.add(card);
       }
+      used[index] = true;
+      equivalentCards.add(resources.get(index));
     }
 
     return equivalentCards;
   }
 
+  private int indexOfUnusedResource(CardIdentity cardIdentity, boolean[] used) {
+    for (int i = 0; i < resources.size(); i++) {
+      if (!used[i] && resources.get(i).isIdentical(cardIdentity)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   @Nullable
   public BuildingCard equivalentBuilding(CardIdentity cardIdentity) {
     return buildings.stream().filter(x -> x.isIdentical(cardIdentity)).findFirst().orElse(null);
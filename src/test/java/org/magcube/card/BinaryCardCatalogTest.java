@@ -0,0 +1,168 @@
+package org.magcube.card;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.magcube.enums.CardType;
+
+class BinaryCardCatalogTest {
+
+  @AfterEach
+  void tearDown() {
+    System.clearProperty(CardCatalogs.CATALOG_FILE_PROPERTY);
+  }
+
+  @Test
+  void writeAndMapTest(@TempDir Path directory) throws IOException {
+    var json = JsonCardCatalog.fromClasspath();
+    var file = directory.resolve("catalog.bin");
+    BinaryCardCatalog.write(json, file);
+
+    var catalog = BinaryCardCatalog.map(file);
+    assertCatalogEquals(json, catalog);
+    var card = catalog.levelOneResource().get(0);
+    assertSame(CardIdentity.of(card.cardType(), card.typeId()), card.getCardIdentity());
+    var cardQuantity = catalog.buildingQuantity().get(0);
+    assertSame(CardIdentity.of(cardQuantity.cardType(), cardQuantity.typeId()), cardQuantity.cardIdentity());
+  }
+
+  @Test
+  void loadByPropertyTest(@TempDir Path directory) throws IOException {
+    var file = directory.resolve("catalog.bin");
+    BinaryCardCatalog.main(new String[]{file.toString()});
+    System.setProperty(CardCatalogs.CATALOG_FILE_PROPERTY, file.toString());
+
+    var catalog = CardCatalogs.load();
+    assertTrue(catalog instanceof BinaryCardCatalog);
+    assertCatalogEquals(JsonCardCatalog.fromClasspath(), catalog);
+  }
+
+  @Test
+  void nullFieldsTest() throws IOException {
+    var catalog = new TestingCatalog(
+        List.of(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 1)).value(1).build()),
+        List.of(BuildingCard.builder()
+            .cardIdentity(new CardIdentity(CardType.BUILDING, 1))
+            .name("test \u5de5\u5ee0")
+            .cost(new CardIdentity[][]{{}, {new CardIdentity(CardType.BASIC_RESOURCE, 1)}})
+            .isExtension(true)
+            .specialEffect("special")
+            .build())
+    );
+
+    var read = BinaryCardCatalog.read(ByteBuffer.wrap(BinaryCardCatalog.toBytes(catalog)));
+    assertCatalogEquals(catalog, read);
+    var resourceCard = read.basicResource().get(0);
+    assertNull(resourceCard.getName());
+    assertNull(resourceCard.getCost());
+    var buildingCard = read.building().get(0);
+    assertNull(buildingCard.getEffectProduct());
+    assertNull(buildingCard.getIsStartingBuilding());
+    assertTrue(buildingCard.getIsExtension());
+  }
+
+  @Test
+  void invalidFileTest(@TempDir Path directory) throws IOException {
+    var file = directory.resolve("catalog.bin");
+    Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+    assertThrows(IOException.class, () -> BinaryCardCatalog.map(file));
+
+    var bytes = BinaryCardCatalog.toBytes(JsonCardCatalog.fromClasspath());
+    bytes[7] = 99;
+    assertThrows(IOException.class, () -> BinaryCardCatalog.read(ByteBuffer.wrap(bytes)));
+  }
+
+  @Test
+  void corruptedReferencesTest() throws IOException {
+    var bytes = BinaryCardCatalog.toBytes(JsonCardCatalog.fromClasspath());
+    var headerBytes = (2 + CardType.NUM_OF_CARD_TYPES * 2 + 4) * Integer.BYTES;
+    // name of the first resource card, its cost and the identity of the first card
+    for (var field : new int[]{2, 3, 0}) {
+      var corrupted = bytes.clone();
+      ByteBuffer.wrap(corrupted).putInt(headerBytes + field * Integer.BYTES, 99999);
+      assertThrows(IOException.class, () -> BinaryCardCatalog.read(ByteBuffer.wrap(corrupted)));
+    }
+    var negativeCount = bytes.clone();
+    ByteBuffer.wrap(negativeCount).putInt(2 * Integer.BYTES, -1);
+    assertThrows(IOException.class, () -> BinaryCardCatalog.read(ByteBuffer.wrap(negativeCount)));
+    for (var length = headerBytes; length < bytes.length; length += 97) {
+      var truncated = ByteBuffer.wrap(bytes, 0, length).slice();
+      assertThrows(IOException.class, () -> BinaryCardCatalog.read(truncated));
+    }
+  }
+
+  @Test
+  void loadByPropertyShouldThrowTest(@TempDir Path directory) throws IOException {
+    var file = directory.resolve("catalog.bin");
+    var bytes = BinaryCardCatalog.toBytes(JsonCardCatalog.fromClasspath());
+    Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+    System.setProperty(CardCatalogs.CATALOG_FILE_PROPERTY, file.toString());
+    assertThrows(IOException.class, CardCatalogs::load);
+
+    System.setProperty(CardCatalogs.CATALOG_FILE_PROPERTY, directory.resolve("missing.bin").toString());
+    assertThrows(IOException.class, CardCatalogs::load);
+  }
+
+  private static void assertCatalogEquals(CardCatalog expected, CardCatalog actual) {
+    assertValueEquals(expected.basicResource(), actual.basicResource());
+    assertValueEquals(expected.levelOneResource(), actual.levelOneResource());
+    assertValueEquals(expected.levelTwoResource(), actual.levelTwoResource());
+    assertValueEquals(expected.building(), actual.building());
+    assertEquals(expected.basicResourceQuantity(), actual.basicResourceQuantity());
+    assertEquals(expected.levelOneResourceQuantity(), actual.levelOneResourceQuantity());
+    assertEquals(expected.levelTwoResourceQuantity(), actual.levelTwoResourceQuantity());
+    assertEquals(expected.buildingQuantity(), actual.buildingQuantity());
+  }
+
+  private static void assertValueEquals(List<? extends Card> expected, List<? extends Card> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertTrue(expected.get(i).valueEquals(actual.get(i)));
+    }
+  }
+
+  private record TestingCatalog(List<ResourceCard> basicResource, List<BuildingCard> building) implements CardCatalog {
+
+    @Override
+    public List<ResourceCard> levelOneResource() {
+      return List.of();
+    }
+
+    @Override
+    public List<ResourceCard> levelTwoResource() {
+      return List.of();
+    }
+
+    @Override
+    public List<CardQuantity> basicResourceQuantity() {
+      return List.of(new CardQuantity(new CardIdentity(CardType.BASIC_RESOURCE, 1), 1, 2, 3));
+    }
+
+    @Override
+    public List<CardQuantity> levelOneResourceQuantity() {
+      return List.of();
+    }
+
+    @Override
+    public List<CardQuantity> levelTwoResourceQuantity() {
+      return List.of();
+    }
+
+    @Override
+    public List<CardQuantity> buildingQuantity() {
+      return List.of();
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package org.magcube.card;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CardCatalogsTest {
+
+  private static final List<String> catalogFiles = List.of(
+      "type0.json", "type1.json", "type2.json", "type3.json",
+      "type0-quantity.json", "type1-quantity.json", "type2-quantity.json", "type3-quantity.json"
+  );
+
+  @AfterEach
+  void tearDown() {
+    System.clearProperty(CardCatalogs.CATALOG_DIR_PROPERTY);
+  }
+
+  // holds for both the generated table and the json fallback
+  @Test
+  void catalogShouldAgreeWithJsonTest() throws IOException {
+    var catalog = CardCatalogs.get();
+    var json = JsonCardCatalog.fromClasspath();
+
+    assertCatalogEquals(json, catalog);
+    assertValueEquals(json.basicResource(), CardData.basicResource);
+    assertValueEquals(json.building(), CardData.building);
+    assertEquals(json.buildingQuantity(), CardQuantity.building);
+  }
+
+  @Test
+  void loadFromDirectoryTest(@TempDir Path directory) throws IOException {
+    for (var filename : catalogFiles) {
+      try (var inputStream = CardCatalogsTest.class.getResourceAsStream("/" + filename)) {
+        //noinspection DataFlowIssue
+        Files.copy(inputStream, directory.resolve(filename));
+      }
+    }
+    System.setProperty(CardCatalogs.CATALOG_DIR_PROPERTY, directory.toString());
+
+    assertCatalogEquals(JsonCardCatalog.fromClasspath(), CardCatalogs.load());
+  }
+
+  @Test
+  void loadFromIncompleteDirectoryTest(@TempDir Path directory) {
+    System.setProperty(CardCatalogs.CATALOG_DIR_PROPERTY, directory.toString());
+
+    assertThrows(IOException.class, CardCatalogs::load);
+  }
+
+  private static void assertCatalogEquals(CardCatalog expected, CardCatalog actual) {
+    assertValueEquals(expected.basicResource(), actual.basicResource());
+    assertValueEquals(expected.levelOneResource(), actual.levelOneResource());
+    assertValueEquals(expected.levelTwoResource(), actual.levelTwoResource());
+    assertValueEquals(expected.building(), actual.building());
+    assertEquals(expected.basicResourceQuantity(), actual.basicResourceQuantity());
+    assertEquals(expected.levelOneResourceQuantity(), actual.levelOneResourceQuantity());
+    assertEquals(expected.levelTwoResourceQuantity(), actual.levelTwoResourceQuantity());
+    assertEquals(expected.buildingQuantity(), actual.buildingQuantity());
+  }
+
+  private static void assertValueEquals(List<? extends Card> expected, List<? extends Card> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertTrue(expected.get(i).valueEquals(actual.get(i)));
+    }
+  }
+}
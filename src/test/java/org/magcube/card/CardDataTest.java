@@ -1,8 +1,10 @@
 package org.magcube.card;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
@@ -36,4 +38,32 @@ public class CardDataTest {
     assertTrue(data.stream().allMatch(x -> clazz.isInstance(x) && x.cardType() == cardType));
     assertEquals(data.size(), data.stream().map(Card::typeId).distinct().count());
   }
+
+  @Test
+  void valueOfTest() {
+    var allCards = new ArrayList<Card>();
+    allCards.addAll(CardData.basicResource);
+    allCards.addAll(CardData.levelOneResource);
+    allCards.addAll(CardData.levelTwoResource);
+    allCards.addAll(CardData.building);
+    for (var card : allCards) {
+      assertEquals(card.getValue(), CardData.valueOf(card.getCardIdentity()));
+    }
+
+    assertEquals(CardData.NO_VALUE, CardData.valueOf(new CardIdentity(CardType.BASIC_RESOURCE, 0)));
+    assertEquals(CardData.NO_VALUE, CardData.valueOf(new CardIdentity(CardType.BUILDING, 99999)));
+    assertEquals(CardData.NO_VALUE, CardData.valueOf(new CardIdentity(null, 1)));
+  }
+
+  @Test
+  void isValidTest() {
+    for (var cardType : CardType.values()) {
+      var maxTypeId = CardData.maxTypeId.get(cardType);
+      for (var typeId = -1; typeId <= CardIdentity.MAX_PACKABLE_TYPE_ID + 1; typeId++) {
+        assertEquals(typeId >= 1 && typeId <= maxTypeId, CardData.isValid(new CardIdentity(cardType, typeId)));
+      }
+    }
+    assertFalse(CardData.isValid(new CardIdentity(CardType.BUILDING, 99999)));
+    assertFalse(CardData.isValid(new CardIdentity(null, 1)));
+  }
 }
@@ -1,7 +1,10 @@
 package org.magcube.card;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -90,4 +93,72 @@ class CardDeckTest {
     assertTrue(buildingCards.size() > 0);
     assertTrue(allRefNoSameFn.apply(buildingCards));
   }
-}
\ No newline at end of file
+
+  @ParameterizedTest
+  @EnumSource
+  void templateShouldMatchDeckTest(NumOfPlayers numOfPlayers) {
+    var deck = CardDeck.get(numOfPlayers);
+    var template = deck.template(CardType.LEVEL_ONE_RESOURCE);
+
+    assertEquals(deck.levelOneResource.size(), template.length);
+    for (int i = 0; i < template.length; i++) {
+      assertTrue(CardData.levelOneResource.get(template[i]).valueEquals(deck.levelOneResource.get(i)));
+    }
+  }
+
+  @Test
+  void shouldShareDefinitionWithCardDataTest() {
+    var deck = CardDeck.get(NumOfPlayers.FOUR);
+    var resourceCard = deck.levelOneResource.get(0);
+    var resourceDefinition = CardData.levelOneResource.get(deck.template(CardType.LEVEL_ONE_RESOURCE)[0]);
+    var buildingCard = deck.building.get(0);
+    var buildingDefinition = CardData.building.get(deck.template(CardType.BUILDING)[0]);
+
+    assertSame(resourceDefinition.getCost(), resourceCard.getCost());
+    assertSame(resourceDefinition.costMatcher(), resourceCard.costMatcher());
+    assertSame(CardIdentity.of(resourceCard.cardType(), resourceCard.typeId()), resourceCard.getCardIdentity());
+    assertSame(buildingDefinition.getEffectCost(), buildingCard.getEffectCost());
+    assertSame(buildingDefinition.effectCostMatcher(), buildingCard.effectCostMatcher());
+  }
+
+  @Test
+  void buildTimeListenerTest() {
+    var reported = new ArrayList<NumOfPlayers>();
+    CardDeck.setBuildTimeListener((numOfPlayers, nanos) -> {
+      assertTrue(nanos >= 0);
+      reported.add(numOfPlayers);
+    });
+    try {
+      var deck = CardDeck.build(NumOfPlayers.THREE);
+      assertEquals(CardDeck.get(NumOfPlayers.THREE).building.size(), deck.building.size());
+      assertTrue(reported.stream().allMatch(numOfPlayers -> numOfPlayers == NumOfPlayers.THREE));
+      reported.clear();
+      deck.reportBuildTime();
+      deck.reportBuildTime();
+      assertEquals(List.of(NumOfPlayers.THREE), reported);
+    } finally {
+      CardDeck.setBuildTimeListener(null);
+    }
+  }
+
+  @Test
+  void failingBuildTimeListenerShouldNotBreakDeckTest() {
+    CardDeck.setBuildTimeListener((numOfPlayers, nanos) -> {
+      throw new IllegalStateException();
+    });
+    try {
+      var deck = CardDeck.build(NumOfPlayers.TWO);
+      assertThrows(IllegalStateException.class, deck::reportBuildTime);
+      assertDoesNotThrow(deck::reportBuildTime);
+    } finally {
+      CardDeck.setBuildTimeListener(null);
+    }
+    assertNotNull(CardDeck.get(NumOfPlayers.FOUR));
+  }
+
+  @ParameterizedTest
+  @EnumSource
+  void getShouldReturnSameDeckTest(NumOfPlayers numOfPlayers) {
+    assertSame(CardDeck.get(numOfPlayers), CardDeck.get(numOfPlayers));
+  }
+}
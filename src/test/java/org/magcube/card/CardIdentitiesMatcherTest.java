@@ -0,0 +1,95 @@
+package org.magcube.card;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.magcube.enums.CardType;
+
+class CardIdentitiesMatcherTest {
+
+  @Test
+  void noOptionTest() {
+    var matcher1 = CardIdentitiesMatcher.compile((CardIdentity[][]) null);
+    var matcher2 = CardIdentitiesMatcher.compile(new CardIdentity[][]{});
+    var matcher3 = CardIdentitiesMatcher.compile(new CardIdentity[]{});
+    var testing = List.of(new CardIdentity(CardType.BASIC_RESOURCE, 1));
+
+    assertFalse(matcher1.match(testing));
+    assertFalse(matcher2.match(testing));
+    assertFalse(matcher3.match(testing));
+    assertFalse(matcher3.match(List.of()));
+  }
+
+  @Test
+  void matchTest() {
+    var matcher = CardIdentitiesMatcher.compile(new CardIdentity[][]{
+        {new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 4)},
+        {new CardIdentity(CardType.BASIC_RESOURCE, 3), new CardIdentity(CardType.BASIC_RESOURCE, 3), new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5)}
+    });
+
+    assertEquals(2, matcher.numOfOptions());
+    assertTrue(matcher.match(List.of(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 4))));
+    assertTrue(matcher.match(List.of(
+        new CardIdentity(CardType.BASIC_RESOURCE, 3),
+        new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5),
+        new CardIdentity(CardType.BASIC_RESOURCE, 3)
+    )));
+
+    assertFalse(matcher.match(List.of()));
+    assertFalse(matcher.match(List.of(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 3))));
+    assertFalse(matcher.match(List.of(
+        new CardIdentity(CardType.BASIC_RESOURCE, 3),
+        new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5)
+    )));
+    assertFalse(matcher.match(List.of(
+        new CardIdentity(CardType.BASIC_RESOURCE, 3),
+        new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5),
+        new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5)
+    )));
+    assertFalse(matcher.match(List.of(
+        new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 4),
+        new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 4)
+    )));
+    assertFalse(matcher.match(List.of(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 99999))));
+  }
+
+  @Test
+  void shouldAgreeWithCardsForAllCardDataTest() {
+    var allCards = new ArrayList<Card>();
+    allCards.addAll(CardData.basicResource);
+    allCards.addAll(CardData.levelOneResource);
+    allCards.addAll(CardData.levelTwoResource);
+    allCards.addAll(CardData.building);
+
+    var testings = new ArrayList<CardIdentity[]>();
+    for (var card : allCards) {
+      if (card instanceof ResourceCard resourceCard) {
+        testings.addAll(Arrays.asList(resourceCard.getCost()));
+        testings.add(resourceCard.getCapital());
+      } else if (card instanceof BuildingCard buildingCard) {
+        testings.addAll(Arrays.asList(buildingCard.getCost()));
+        testings.addAll(Arrays.asList(buildingCard.getEffectCost()));
+        testings.add(buildingCard.getEffectCapital());
+      }
+    }
+
+    for (var card : allCards) {
+      for (var testing : testings) {
+        var testingList = List.of(testing);
+        if (card instanceof ResourceCard resourceCard) {
+          assertEquals(Cards.isTwoDimCardIdentitiesMatch(resourceCard.getCost(), testing), resourceCard.costMatch(testingList));
+          assertEquals(Cards.isOneDimCardIdentitiesMatch(resourceCard.getCapital(), testing), resourceCard.capitalMatch(testingList));
+        } else if (card instanceof BuildingCard buildingCard) {
+          assertEquals(Cards.isTwoDimCardIdentitiesMatch(buildingCard.getCost(), testing), buildingCard.costMatch(testingList));
+          assertEquals(Cards.isTwoDimCardIdentitiesMatch(buildingCard.getEffectCost(), testing), buildingCard.effectCostMatch(testingList));
+          assertEquals(Cards.isOneDimCardIdentitiesMatch(buildingCard.getEffectCapital(), testing), buildingCard.effectCapitalMatch(testingList));
+        }
+      }
+    }
+  }
+}
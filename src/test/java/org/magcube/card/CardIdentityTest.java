@@ -2,10 +2,14 @@ package org.magcube.card;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -85,4 +89,64 @@ public class CardIdentityTest {
     Collections.sort(cardIdentities);
     assertEquals(expectedSortedCardIdentities, cardIdentities);
   }
+
+  @ParameterizedTest
+  @EnumSource(CardType.class)
+  void ofShouldReturnCanonicalInstanceTest(CardType cardType) {
+    for (var typeId = 1; typeId <= CardData.maxTypeId.get(cardType); typeId++) {
+      var cardIdentity = CardIdentity.of(cardType, typeId);
+      assertSame(cardIdentity, CardIdentity.of(cardType, typeId));
+      assertEquals(new CardIdentity(cardType, typeId), cardIdentity);
+    }
+
+    // interning does not depend on the card data
+    var maxPackable = CardIdentity.of(cardType, CardIdentity.MAX_PACKABLE_TYPE_ID);
+    assertSame(maxPackable, CardIdentity.of(cardType, CardIdentity.MAX_PACKABLE_TYPE_ID));
+
+    var outOfRange = CardIdentity.of(cardType, 99999);
+    assertNotSame(outOfRange, CardIdentity.of(cardType, 99999));
+    assertEquals(new CardIdentity(cardType, 99999), outOfRange);
+  }
+
+  @ParameterizedTest
+  @EnumSource(CardType.class)
+  void packTest(CardType cardType) {
+    var packedValues = new HashSet<Integer>();
+    for (var typeId = 1; typeId <= CardData.maxTypeId.get(cardType); typeId++) {
+      var cardIdentity = new CardIdentity(cardType, typeId);
+      var packed = cardIdentity.packed();
+      assertTrue(packed >= 0 && packed < CardIdentity.NUM_OF_PACKED_VALUES);
+      assertTrue(packedValues.add(packed));
+      assertEquals(cardIdentity, CardIdentity.fromPacked(packed));
+      assertSame(CardIdentity.of(cardType, typeId), CardIdentity.fromPacked(packed));
+    }
+
+    assertEquals(CardIdentity.INVALID_PACKED, new CardIdentity(cardType, 99999).packed());
+    assertEquals(CardIdentity.INVALID_PACKED, new CardIdentity(cardType, -1).packed());
+    assertEquals(CardIdentity.INVALID_PACKED, new CardIdentity(null, 1).packed());
+  }
+
+  @Test
+  void packedShouldKeepTheOrderTest() {
+    var card1 = new CardIdentity(CardType.BASIC_RESOURCE, 5);
+    var card2 = new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 1);
+    var card3 = new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 2);
+    var card4 = new CardIdentity(CardType.BUILDING, 1);
+
+    assertTrue(card1.packed() < card2.packed());
+    assertTrue(card2.packed() < card3.packed());
+    assertTrue(card3.packed() < card4.packed());
+  }
+
+  @Test
+  void fromPackedShouldThrowTest() {
+    assertThrows(IllegalArgumentException.class, () -> CardIdentity.fromPacked(CardIdentity.INVALID_PACKED));
+    assertThrows(IllegalArgumentException.class, () -> CardIdentity.fromPacked(CardIdentity.NUM_OF_PACKED_VALUES));
+  }
+
+  @Test
+  void hashCodeTest() {
+    assertEquals(new CardIdentity(CardType.BUILDING, 3).hashCode(), new CardIdentity(CardType.BUILDING, 3).hashCode());
+    assertNotEquals(new CardIdentity(CardType.BUILDING, 3).hashCode(), new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 3).hashCode());
+  }
 }
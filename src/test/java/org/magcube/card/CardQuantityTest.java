@@ -101,6 +101,19 @@ class CardQuantityTest {
   @Test
   void getQuantityExceptionTest() {
     assertThrows(CardQuantityException.class, () -> CardQuantity.getQuantity(CardType.BASIC_RESOURCE, 99999, NumOfPlayers.FOUR));
+    assertThrows(CardQuantityException.class, () -> CardQuantity.getQuantity(CardType.LEVEL_ONE_RESOURCE, 0, NumOfPlayers.TWO));
+    assertThrows(CardQuantityException.class, () -> CardQuantity.getQuantity(CardType.BUILDING, -1, NumOfPlayers.THREE));
+  }
+
+  @ParameterizedTest
+  @MethodSource("cardQuantityDataProvider")
+  void getQuantityShouldMatchDataTest(List<CardQuantity> cardQuantities) throws CardQuantityException {
+    for (var cardQuantity : cardQuantities) {
+      for (var numOfPlayers : NumOfPlayers.values()) {
+        assertEquals(cardQuantity.getQuantityForNumOfPlayers(numOfPlayers),
+            CardQuantity.getQuantity(cardQuantity.cardType(), cardQuantity.typeId(), numOfPlayers));
+      }
+    }
   }
 
   @Test
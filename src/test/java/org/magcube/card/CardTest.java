@@ -1,8 +1,14 @@
 package org.magcube.card;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.magcube.enums.CardType;
 
@@ -69,4 +75,66 @@ public class CardTest {
     assertTrue(card1.isIdentical(card2)); // same identity
     assertFalse(card1.isIdentical(card3)); // different identity
   }
+
+  @Test
+  void equalsShouldBeByInstanceTest() {
+    var builder = ResourceCard.builder()
+        .cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 1))
+        .cost(new CardIdentity[][]{{new CardIdentity(CardType.BASIC_RESOURCE, 2)}})
+        .value(1);
+    var card1 = builder.build();
+    var card2 = builder.build();
+    var copied = new ResourceCard(card1);
+
+    assertEquals(card1, card1);
+    assertNotEquals(card1, card2);
+    assertNotEquals(card1, copied);
+    assertNotEquals(card1.hashCode(), card2.hashCode());
+
+    // removes the exact instance rather than the first card that looks the same
+    var cards = new ArrayList<>(List.of(card1, card2, copied));
+    cards.remove(card2);
+    assertEquals(List.of(card1, copied), cards);
+  }
+
+  @Test
+  void valueEqualsTest() {
+    var resourceBuilder = ResourceCard.builder()
+        .cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 1))
+        .name("brick")
+        .cost(new CardIdentity[][]{{new CardIdentity(CardType.BASIC_RESOURCE, 1)}})
+        .capital(new CardIdentity[]{})
+        .value(3);
+    var resourceCard = resourceBuilder.build();
+    var buildingCard = BuildingCard.builder()
+        .cardIdentity(new CardIdentity(CardType.BUILDING, 1))
+        .effectProduct(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 1))
+        .points(1)
+        .build();
+
+    assertTrue(resourceCard.valueEquals(resourceBuilder.build()));
+    assertTrue(resourceCard.valueEquals(new ResourceCard(resourceCard)));
+    assertFalse(resourceCard.valueEquals(resourceBuilder.value(4).build()));
+    assertFalse(resourceCard.valueEquals(resourceBuilder.value(3).cost(new CardIdentity[][]{}).build()));
+    assertFalse(resourceCard.valueEquals(null));
+    assertTrue(buildingCard.valueEquals(new BuildingCard(buildingCard)));
+    assertFalse(buildingCard.valueEquals(resourceCard));
+    assertFalse(buildingCard.valueEquals(BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 1)).points(2).build()));
+  }
+
+  @Test
+  void instanceIdShouldNotBeExposedTest() throws JsonProcessingException {
+    var builder = ResourceCard.builder()
+        .cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 1))
+        .name("wood")
+        .value(1);
+    var card1 = builder.build();
+    var card2 = builder.build();
+    var objectMapper = new ObjectMapper();
+
+    assertEquals(card1.toString(), card2.toString());
+    assertFalse(card1.toString().contains("instanceId"));
+    assertEquals(objectMapper.writeValueAsString(card1), objectMapper.writeValueAsString(card2));
+    assertFalse(objectMapper.writeValueAsString(card1).contains("instanceId"));
+  }
 }
@@ -1,8 +1,11 @@
 package org.magcube.card;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.magcube.enums.CardType;
@@ -200,4 +203,32 @@ class CardsTest {
       }));
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  class signatureOf {
+
+    @Test
+    void orderIndependentTest() {
+      var cardIdentity1 = new CardIdentity(CardType.BASIC_RESOURCE, 1);
+      var cardIdentity2 = new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 1);
+      var cardIdentity3 = new CardIdentity(CardType.BUILDING, 2);
+
+      assertEquals(Cards.signatureOf(List.of(cardIdentity1, cardIdentity2, cardIdentity3)),
+          Cards.signatureOf(List.of(cardIdentity3, cardIdentity1, cardIdentity2)));
+      assertEquals(Cards.signatureOf(List.of(cardIdentity1, cardIdentity2)),
+          Cards.signatureOf(new CardIdentity[]{cardIdentity2, cardIdentity1}));
+    }
+
+    @Test
+    void multiplicityTest() {
+      var cardIdentity1 = new CardIdentity(CardType.BASIC_RESOURCE, 1);
+      var cardIdentity2 = new CardIdentity(CardType.BASIC_RESOURCE, 2);
+
+      assertNotEquals(Cards.signatureOf(List.of(cardIdentity1)), Cards.signatureOf(List.of(cardIdentity1, cardIdentity1)));
+      assertNotEquals(Cards.signatureOf(List.of(cardIdentity1, cardIdentity1, cardIdentity2)),
+          Cards.signatureOf(List.of(cardIdentity1, cardIdentity2, cardIdentity2)));
+      assertNotEquals(Cards.signatureOf(new CardIdentity(CardType.BASIC_RESOURCE, 1)),
+          Cards.signatureOf(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 1)));
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package org.magcube.card;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.magcube.enums.CardType;
+import org.magcube.enums.RecipeType;
+
+class RecipeIndexTest {
+
+  private final RecipeIndex recipeIndex = RecipeIndex.catalog();
+
+  @Test
+  void recipesForTest() {
+    var testing = List.of(new CardIdentity(CardType.BASIC_RESOURCE, 1));
+    var recipes = recipeIndex.recipesFor(testing);
+    // brick is produced by clay
+    assertTrue(recipes.stream().anyMatch(recipe -> recipe.recipeType() == RecipeType.COST
+        && recipe.card().getCardIdentity().equals(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 1))));
+    for (var recipe : recipes) {
+      assertTrue(matches(recipe, testing));
+    }
+
+    assertEquals(List.of(), recipeIndex.recipesFor(List.of()));
+    assertEquals(List.of(), recipeIndex.recipesFor(List.of(new CardIdentity(CardType.BASIC_RESOURCE, 99999))));
+  }
+
+  @Test
+  void recipesForShouldFindEveryOptionOfAllCardDataTest() {
+    for (var card : allCards()) {
+      if (card instanceof ResourceCard resourceCard) {
+        assertIndexed(card, RecipeType.COST, resourceCard.getCost());
+        assertIndexed(card, RecipeType.CAPITAL, resourceCard.getCapital());
+      } else if (card instanceof BuildingCard buildingCard) {
+        assertIndexed(card, RecipeType.COST, buildingCard.getCost());
+        assertIndexed(card, RecipeType.EFFECT_COST, buildingCard.getEffectCost());
+        assertIndexed(card, RecipeType.EFFECT_CAPITAL, buildingCard.getEffectCapital());
+      }
+    }
+  }
+
+  @Test
+  void recipesWithinShouldAgreeWithBruteForceTest() {
+    var allIdentities = new ArrayList<CardIdentity>();
+    for (var card : allCards()) {
+      if (card instanceof ResourceCard) {
+        allIdentities.add(card.getCardIdentity());
+      }
+    }
+    var random = new Random(20230401);
+    for (int round = 0; round < 200; round++) {
+      var hand = new ArrayList<CardIdentity>();
+      var handSize = 1 + random.nextInt(7);
+      for (int i = 0; i < handSize; i++) {
+        // bias towards basic resources so that most hands can produce something
+        hand.add(random.nextBoolean() ? allIdentities.get(random.nextInt(5)) : allIdentities.get(random.nextInt(allIdentities.size())));
+      }
+
+      var recipes = recipeIndex.recipesWithin(hand);
+      var expectedSize = 0;
+      for (var card : allCards()) {
+        expectedSize += countContainedOptions(card, hand);
+      }
+      assertEquals(expectedSize, recipes.size());
+      for (var recipe : recipes) {
+        assertTrue(isSubMultiset(recipe.cardIdentities(), hand));
+      }
+    }
+  }
+
+  private static List<Card> allCards() {
+    var allCards = new ArrayList<Card>();
+    allCards.addAll(CardData.basicResource);
+    allCards.addAll(CardData.levelOneResource);
+    allCards.addAll(CardData.levelTwoResource);
+    allCards.addAll(CardData.building);
+    return allCards;
+  }
+
+  private void assertIndexed(Card card, RecipeType recipeType, CardIdentity[]... options) {
+    for (var option : options) {
+      // an empty option can never be satisfied, so it is not indexed
+      if (option != null && option.length > 0) {
+        assertTrue(containsRecipe(recipeIndex.recipesFor(List.of(option)), card, recipeType));
+      }
+    }
+  }
+
+  private static boolean containsRecipe(List<Recipe> recipes, Card card, RecipeType recipeType) {
+    return recipes.stream().anyMatch(recipe -> recipe.card() == card && recipe.recipeType() == recipeType);
+  }
+
+  private static boolean matches(Recipe recipe, List<CardIdentity> cardIdentities) {
+    var card = recipe.card();
+    return switch (recipe.recipeType()) {
+      case COST -> card instanceof ResourceCard resourceCard ? resourceCard.costMatch(cardIdentities)
+          : ((BuildingCard) card).costMatch(cardIdentities);
+      case CAPITAL -> ((ResourceCard) card).capitalMatch(cardIdentities);
+      case EFFECT_COST -> ((BuildingCard) card).effectCostMatch(cardIdentities);
+      case EFFECT_CAPITAL -> ((BuildingCard) card).effectCapitalMatch(cardIdentities);
+    };
+  }
+
+  private static int countContainedOptions(Card card, List<CardIdentity> hand) {
+    var options = new ArrayList<CardIdentity[]>();
+    if (card instanceof ResourceCard resourceCard) {
+      options.addAll(List.of(resourceCard.getCost()));
+      options.add(resourceCard.getCapital());
+    } else if (card instanceof BuildingCard buildingCard) {
+      options.addAll(List.of(buildingCard.getCost()));
+      options.addAll(List.of(buildingCard.getEffectCost()));
+      options.add(buildingCard.getEffectCapital());
+    }
+    var count = 0;
+    for (var option : options) {
+      if (option != null && option.length > 0 && isSubMultiset(List.of(option), hand)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static boolean isSubMultiset(List<CardIdentity> option, List<CardIdentity> hand) {
+    var remaining = new ArrayList<>(hand);
+    for (var cardIdentity : option) {
+      if (!remaining.remove(cardIdentity)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
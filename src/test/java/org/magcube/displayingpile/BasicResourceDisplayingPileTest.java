@@ -333,4 +333,42 @@ class BasicResourceDisplayingPileTest {
     var card1 = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 99999)).build();
     assertThrows(NullPointerException.class, () -> pile.discardCards(List.of(card1)));
   }
+
+  @Test
+  void takeCardsShouldCommitReservedCardsTest() {
+    var pile = new BasicResourceDisplayingPile(CardDeck.get(NumOfPlayers.FOUR).basicResource);
+    var displaying = pile.getDisplaying();
+    var cardIdentity0 = displaying.get(0).get(0).getCardIdentity();
+    var cardIdentity2 = displaying.get(2).get(0).getCardIdentity();
+
+    var optCards = pile.cardsInDisplay(List.of(cardIdentity2, cardIdentity0, cardIdentity2));
+    assertTrue(optCards.isPresent());
+    var reservedCards = optCards.get();
+    assertTrue(reservedCards instanceof ReservedCards<ResourceCard>);
+    assertEquals(3, reservedCards.size());
+    assertTrue(reservedCards.containsAll(List.of(displaying.get(0).get(0), displaying.get(2).get(0), displaying.get(2).get(1))));
+
+    pile.takeCards(reservedCards);
+    assertEquals(displaying.get(0).subList(1, displaying.get(0).size()), pile.getDisplaying().get(0));
+    assertEquals(displaying.get(2).subList(2, displaying.get(2).size()), pile.getDisplaying().get(2));
+    assertEquals(displaying.get(1), pile.getDisplaying().get(1));
+  }
+
+  @Test
+  void takeCardsShouldSearchForOutdatedReservedCardsTest() {
+    var pile = new BasicResourceDisplayingPile(CardDeck.get(NumOfPlayers.FOUR).basicResource);
+    var displaying = pile.getDisplaying();
+    var reservedCards0 = pile.cardsInDisplay(List.of(displaying.get(0).get(0).getCardIdentity())).orElseThrow();
+    var reservedCards1 = pile.cardsInDisplay(List.of(displaying.get(1).get(0).getCardIdentity())).orElseThrow();
+
+    pile.takeCards(reservedCards1);
+    pile.discardCards(reservedCards1);
+    pile.takeCards(reservedCards0);
+    pile.takeCards(reservedCards1);
+
+    assertFalse(pile.getDisplaying().stream().flatMap(List::stream).anyMatch(card -> card == reservedCards0.get(0)));
+    assertFalse(pile.getDisplaying().stream().flatMap(List::stream).anyMatch(card -> card == reservedCards1.get(0)));
+    assertEquals(displaying.get(0).size() - 1, pile.getDisplaying().get(0).size());
+    assertEquals(displaying.get(1).size() - 1, pile.getDisplaying().get(1).size());
+  }
 }
@@ -3,11 +3,11 @@ package org.magcube.displayingpile;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.magcube.displayingpile.DisplayingPileTestUtil.numOfCardsInDisplaying;
 import static org.magcube.displayingpile.DisplayingPileTestUtil.takeCardHelper;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -69,28 +69,26 @@ public class BuildingPileTest {
   }
 
   @Test
-  void getDisplayingTest2() throws NoSuchFieldException, IllegalAccessException {
-    List<BuildingCard> mockDisplaying = new ArrayList<>();
-    mockDisplaying.add(BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 1)).build());
-    mockDisplaying.add(null);
-    mockDisplaying.add(BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 3)).build());
-    mockDisplaying.add(BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 4)).build());
-    mockDisplaying.add(BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 5)).build());
-
-    var pile = new BuildingPile(List.of(), NumOfPlayers.TWO);
+  void getDisplayingTest2() {
+    List<BuildingCard> mockDeck = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      mockDeck.add(BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, i)).build());
+    }
 
-    assertEquals(Collections.nCopies(5, List.of()), pile.getDisplaying());
+    assertEquals(Collections.nCopies(5, List.of()), new BuildingPile(List.of(), NumOfPlayers.TWO).getDisplaying());
 
-    Field field = UniqueCardPile.class.getDeclaredField("availableCards");
-    field.setAccessible(true);
-    field.set(pile, mockDisplaying);
+    var pile = new BuildingPile(mockDeck, NumOfPlayers.TWO);
+    var displaying = pile.getDisplaying();
+    assertSame(displaying, pile.getDisplaying());
+    assertTrue(displaying.stream().allMatch(x -> x.size() == 1));
+    pile.takeCards(displaying.get(1));
 
     assertEquals(List.of(
-        List.of(mockDisplaying.get(0)),
+        displaying.get(0),
         List.of(),
-        List.of(mockDisplaying.get(2)),
-        List.of(mockDisplaying.get(3)),
-        List.of(mockDisplaying.get(4))
+        displaying.get(2),
+        displaying.get(3),
+        displaying.get(4)
     ), pile.getDisplaying());
   }
 
@@ -259,6 +257,23 @@ public class BuildingPileTest {
     assertTrue(pile.cardsInDisplay(List.of(cardIdentity2, cardIdentity1)).isEmpty());
   }
 
+  @Test
+  void cardsInDisplayShouldReturnOptionalEmptyForIdentityInManySlotsTest() {
+    var cardIdentity1 = new CardIdentity(CardType.BUILDING, 1);
+    var cardIdentity2 = new CardIdentity(CardType.BUILDING, 2);
+    List<BuildingCard> mockDeck = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      mockDeck.add(BuildingCard.builder().cardIdentity(cardIdentity1).build());
+    }
+    mockDeck.add(BuildingCard.builder().cardIdentity(cardIdentity2).build());
+    var pile = new BuildingPile(mockDeck, NumOfPlayers.TWO);
+    assertEquals(4, numOfCardsInDisplaying(pile.getDisplaying(), cardIdentity1));
+
+    assertTrue(pile.cardsInDisplay(List.of(cardIdentity1)).isEmpty());
+    assertTrue(pile.cardsInDisplay(List.of(cardIdentity1, cardIdentity2)).isEmpty());
+    assertTrue(pile.cardsInDisplay(List.of(cardIdentity2)).isPresent());
+  }
+
 
   @ParameterizedTest
   @MethodSource("pileProvider")
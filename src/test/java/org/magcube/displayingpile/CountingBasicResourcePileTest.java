@@ -0,0 +1,175 @@
+package org.magcube.displayingpile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.magcube.displayingpile.DisplayingPileTestUtil.numOfCardsInDisplaying;
+import static org.magcube.displayingpile.DisplayingPileTestUtil.takeCardHelper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.magcube.card.CardData;
+import org.magcube.card.CardDeck;
+import org.magcube.card.CardIdentity;
+import org.magcube.card.ResourceCard;
+import org.magcube.enums.CardType;
+import org.magcube.enums.NumOfPlayers;
+
+class CountingBasicResourcePileTest {
+
+  private static Stream<Arguments> pileProvider() {
+    return Stream.of(NumOfPlayers.values()).map(numOfPlayers -> new Arguments(
+        new BasicResourceDisplayingPile(CardDeck.get(numOfPlayers).basicResource),
+        new CountingBasicResourcePile(CardDeck.get(numOfPlayers).basicResource)));
+  }
+
+  private record Arguments(BasicResourceDisplayingPile expected, CountingBasicResourcePile actual) {
+
+  }
+
+  private static void assertSameDisplaying(DisplayingPile<ResourceCard> expected, DisplayingPile<ResourceCard> actual) {
+    assertEquals(expected.getMaxDisplayingSize(), actual.getMaxDisplayingSize());
+    assertEquals(identities(expected.getDisplaying()), identities(actual.getDisplaying()));
+  }
+
+  private static List<List<CardIdentity>> identities(List<List<ResourceCard>> displaying) {
+    return displaying.stream().map(cards -> cards.stream().map(ResourceCard::getCardIdentity).toList()).toList();
+  }
+
+  @ParameterizedTest
+  @MethodSource("pileProvider")
+  void shouldDisplayLikeBasicResourceDisplayingPileTest(Arguments piles) {
+    assertSameDisplaying(piles.expected(), piles.actual());
+    assertEquals(CardData.basicResource.size(), piles.actual().getMaxDisplayingSize());
+    assertEquals(Collections.emptyList(), piles.actual().getDeck());
+    assertEquals(Collections.emptyList(), piles.actual().getDiscardPile());
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1, 1",
+      "1, 2",
+      "2, 1",
+      "2, 2"
+  })
+  void takeAndDiscardShouldFollowBasicResourceDisplayingPileTest(int quantity1, int quantity2) {
+    var expected = new BasicResourceDisplayingPile(CardDeck.get(NumOfPlayers.FOUR).basicResource);
+    var actual = new CountingBasicResourcePile(CardDeck.get(NumOfPlayers.FOUR).basicResource);
+    var cardIdentity1 = new CardIdentity(CardType.BASIC_RESOURCE, 1);
+    var cardIdentity2 = new CardIdentity(CardType.BASIC_RESOURCE, 2);
+    var list = new ArrayList<CardIdentity>();
+    list.addAll(Collections.nCopies(quantity1, cardIdentity1));
+    list.addAll(Collections.nCopies(quantity2, cardIdentity2));
+
+    var initNumOfCardWithCardIdentity1 = actual.count(cardIdentity1);
+    takeCardHelper(expected, list);
+    var cards = takeCardHelper(actual, list);
+    assertEquals(quantity1 + quantity2, cards.size());
+    assertEquals(quantity1, cards.stream().filter(x -> x.isIdentical(cardIdentity1)).count());
+    assertEquals(initNumOfCardWithCardIdentity1 - quantity1, actual.count(cardIdentity1));
+    assertSameDisplaying(expected, actual);
+
+    actual.discardCards(cards);
+    assertEquals(initNumOfCardWithCardIdentity1, actual.count(cardIdentity1));
+    assertEquals(initNumOfCardWithCardIdentity1, numOfCardsInDisplaying(actual.getDisplaying(), cardIdentity1));
+  }
+
+  @Test
+  void cardsInDisplayShouldRespectCountsTest() {
+    var pile = new CountingBasicResourcePile(CardDeck.get(NumOfPlayers.TWO).basicResource);
+    var cardIdentity1 = new CardIdentity(CardType.BASIC_RESOURCE, 1);
+    var count = pile.count(cardIdentity1);
+    assertTrue(pile.cardsInDisplay(Collections.nCopies(count, cardIdentity1)).isPresent());
+    assertTrue(pile.cardsInDisplay(Collections.nCopies(count + 1, cardIdentity1)).isEmpty());
+    assertTrue(pile.cardsInDisplay(List.of(new CardIdentity(CardType.BASIC_RESOURCE, 99999))).isEmpty());
+
+    for (int i = 0; i < count; i++) {
+      takeCardHelper(pile, List.of(cardIdentity1));
+    }
+    assertEquals(0, pile.count(cardIdentity1));
+    assertEquals(0, numOfCardsInDisplaying(pile.getDisplaying(), cardIdentity1));
+    assertTrue(pile.cardsInDisplay(List.of(cardIdentity1)).isEmpty());
+    assertEquals(pile.getMaxDisplayingSize(), pile.getDisplaying().size());
+  }
+
+  @Test
+  void getDisplayingShouldBeCachedUntilChangedTest() {
+    var pile = new CountingBasicResourcePile(CardDeck.get(NumOfPlayers.TWO).basicResource);
+    var displaying = pile.getDisplaying();
+    assertSame(displaying, pile.getDisplaying());
+    assertEquals(pile.pileState(), pile.pileState());
+    assertThrows(UnsupportedOperationException.class, () -> displaying.get(0).remove(0));
+
+    takeCardHelper(pile, List.of(new CardIdentity(CardType.BASIC_RESOURCE, 1)));
+    assertNotSame(displaying, pile.getDisplaying());
+  }
+
+  @Test
+  void displayingShouldHandOutTheDeckCardsTest() {
+    var deck = CardDeck.get(NumOfPlayers.TWO).basicResource;
+    var pile = new CountingBasicResourcePile(deck);
+    var displaying = pile.getDisplaying();
+    assertEquals(deck.size(), displaying.stream().mapToInt(List::size).sum());
+    displaying.forEach(cards -> cards.forEach(card -> assertTrue(deck.stream().anyMatch(x -> x == card))));
+
+    var cardIdentity1 = new CardIdentity(CardType.BASIC_RESOURCE, 1);
+    var card = pile.cardsInDisplay(List.of(cardIdentity1)).orElseThrow().get(0);
+    assertEquals(displaying, pile.getDisplaying());
+    pile.takeCards(List.of(card));
+    var displayingAfterTake = pile.getDisplaying();
+    for (var i = 0; i < displaying.size(); i++) {
+      if (!displaying.get(i).get(0).isIdentical(cardIdentity1)) {
+        assertEquals(displaying.get(i), displayingAfterTake.get(i));
+      }
+    }
+
+    pile.discardCards(List.of(card));
+    assertEquals(numOfCardsInDisplaying(displaying, cardIdentity1), numOfCardsInDisplaying(pile.getDisplaying(), cardIdentity1));
+    assertTrue(pile.getDisplaying().stream().anyMatch(cards -> cards.contains(card)));
+  }
+
+  @Test
+  void takeCardsShouldThrowTest() {
+    var pile = new CountingBasicResourcePile(CardDeck.get(NumOfPlayers.TWO).basicResource);
+    var cardIdentity1 = new CardIdentity(CardType.BASIC_RESOURCE, 1);
+    var card1 = ResourceCard.builder().cardIdentity(cardIdentity1).build();
+    assertThrows(IllegalArgumentException.class, () -> pile.takeCards(List.of(card1)));
+
+    var card2 = takeCardHelper(pile, List.of(cardIdentity1)).get(0);
+    assertThrows(IllegalArgumentException.class, () -> pile.takeCards(List.of(card2)));
+    assertEquals(CardDeck.get(NumOfPlayers.TWO).basicResource.stream().filter(x -> x.isIdentical(cardIdentity1)).count() - 1,
+        pile.count(cardIdentity1));
+  }
+
+  @Test
+  void discardCardsShouldAcceptCardsNotTakenTest() {
+    var pile = new CountingBasicResourcePile(CardDeck.get(NumOfPlayers.TWO).basicResource);
+    var cardIdentity1 = new CardIdentity(CardType.BASIC_RESOURCE, 1);
+    var count = pile.count(cardIdentity1);
+    var cards = new ArrayList<ResourceCard>();
+    for (var i = 0; i <= count; i++) {
+      cards.add(ResourceCard.builder().cardIdentity(cardIdentity1).build());
+    }
+
+    pile.discardCards(cards);
+    assertEquals(2 * count + 1, pile.count(cardIdentity1));
+    assertEquals(2 * count + 1, numOfCardsInDisplaying(pile.getDisplaying(), cardIdentity1));
+    pile.takeCards(cards);
+    assertEquals(count, pile.count(cardIdentity1));
+  }
+
+  @Test
+  void discardCardsShouldThrowTest() {
+    var pile = new CountingBasicResourcePile(CardDeck.get(NumOfPlayers.TWO).basicResource);
+    var card1 = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 99999)).build();
+    assertThrows(IllegalArgumentException.class, () -> pile.discardCards(List.of(card1)));
+  }
+}
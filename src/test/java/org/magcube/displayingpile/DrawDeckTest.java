@@ -0,0 +1,159 @@
+package org.magcube.displayingpile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class DrawDeckTest {
+
+  @Test
+  void drawShouldTakeFromTopInOrderTest() {
+    var deck = new DrawDeck<>(List.of(1, 2, 3));
+    assertEquals(1, deck.draw());
+    assertEquals(List.of(2, 3), deck);
+    assertEquals(2, deck.draw());
+    assertEquals(3, deck.draw());
+    assertTrue(deck.isEmpty());
+    assertThrows(NoSuchElementException.class, deck::draw);
+  }
+
+  @Test
+  void shouldBehaveLikeArrayListTest() {
+    var deck = new DrawDeck<Integer>();
+    var expected = new ArrayList<Integer>();
+    for (int i = 0; i < 50; i++) {
+      deck.add(i);
+      expected.add(i);
+      if (i % 3 == 0) {
+        assertEquals(expected.remove(0), deck.draw());
+      }
+    }
+    deck.add(2, 100);
+    expected.add(2, 100);
+    deck.remove(Integer.valueOf(30));
+    expected.remove(Integer.valueOf(30));
+    deck.remove(5);
+    expected.remove(5);
+    deck.addAll(List.of(7, 8, 9));
+    expected.addAll(List.of(7, 8, 9));
+    assertEquals(expected, deck);
+    assertEquals(expected.hashCode(), deck.hashCode());
+    assertEquals(expected, deck.stream().collect(Collectors.toList()));
+  }
+
+  @Test
+  void takeAllFromShouldMoveCardsToBottomTest() {
+    var deck = new DrawDeck<>(List.of(1, 2));
+    var discardPile = new DrawDeck<>(List.of(3, 4));
+    deck.takeAllFrom(discardPile);
+    assertEquals(List.of(1, 2, 3, 4), deck);
+    assertTrue(discardPile.isEmpty());
+
+    deck.clear();
+    discardPile.addAll(List.of(5, 6));
+    deck.takeAllFrom(discardPile);
+    assertEquals(List.of(5, 6), deck);
+    assertTrue(discardPile.isEmpty());
+    discardPile.add(7);
+    assertEquals(List.of(7), discardPile);
+    assertEquals(List.of(5, 6), deck);
+  }
+
+  @Test
+  void shuffleShouldKeepAllCardsTest() {
+    var cards = IntStream.range(0, 40).boxed().collect(Collectors.toList());
+    var deck = new DrawDeck<>(cards);
+    deck.draw();
+    deck.draw();
+    deck.shuffle(new Random(42));
+    assertEquals(38, deck.size());
+    assertEquals(cards.subList(2, 40), deck.stream().sorted().collect(Collectors.toList()));
+  }
+
+  @Test
+  void snapshotShouldNotSeeLaterChangesTest() {
+    var deck = new DrawDeck<>(List.of(1, 2, 3, 4, 5));
+    var snapshot1 = deck.snapshot();
+    deck.draw();
+    deck.add(6);
+    var snapshot2 = deck.snapshot();
+    deck.remove(Integer.valueOf(4));
+    deck.shuffle(new Random(1));
+    var snapshot3 = deck.snapshot();
+    while (!deck.isEmpty()) {
+      deck.draw();
+    }
+    deck.addAll(List.of(7, 8));
+    var discardPile = new DrawDeck<>(List.of(9));
+    var snapshot4 = discardPile.snapshot();
+    discardPile.takeAllFrom(deck);
+    discardPile.add(10);
+    deck.add(11);
+    discardPile.clear();
+
+    assertEquals(List.of(1, 2, 3, 4, 5), snapshot1);
+    assertEquals(List.of(2, 3, 4, 5, 6), snapshot2);
+    assertEquals(List.of(2, 3, 5, 6), snapshot3.stream().sorted().toList());
+    assertEquals(List.of(9), snapshot4);
+    assertEquals(List.of(11), deck);
+    assertTrue(discardPile.isEmpty());
+    assertThrows(UnsupportedOperationException.class, () -> snapshot1.add(0));
+    assertThrows(UnsupportedOperationException.class, () -> snapshot2.set(0, 0));
+  }
+
+  @Test
+  void countShouldFollowChangesTest() {
+    var deck = new DrawDeck<>(List.of(1, 1, 2, 3), Integer::intValue);
+    var discardPile = new DrawDeck<Integer>(Integer::intValue);
+    assertEquals(2, deck.count(1));
+    assertEquals(0, deck.count(7));
+    assertEquals(0, deck.count(-1));
+
+    discardPile.add(deck.draw());
+    discardPile.addAll(List.of(7, 7));
+    deck.remove(Integer.valueOf(3));
+    deck.set(0, 2);
+    assertEquals(0, deck.count(1));
+    assertEquals(2, deck.count(2));
+    assertEquals(0, deck.count(3));
+    assertEquals(1, discardPile.count(1));
+    assertEquals(2, discardPile.count(7));
+
+    deck.clear();
+    assertEquals(0, deck.count(2));
+    deck.takeAllFrom(discardPile);
+    assertEquals(2, deck.count(7));
+    assertEquals(0, discardPile.count(7));
+    discardPile.add(1);
+    deck.takeAllFrom(discardPile);
+    assertEquals(2, deck.count(1));
+    assertEquals(List.of(1, 7, 7, 1), deck);
+    assertThrows(IllegalStateException.class, () -> new DrawDeck<Integer>().count(1));
+  }
+
+  @Test
+  void copyShouldBeIndependentTest() {
+    var deck = new DrawDeck<Integer>(List.of(1, 2, 3, 1), x -> x);
+    deck.draw();
+    var copy = new DrawDeck<>(deck);
+    assertEquals(List.of(2, 3, 1), copy);
+    assertEquals(1, copy.count(1));
+
+    copy.draw();
+    copy.add(1);
+    deck.add(3);
+    assertEquals(List.of(3, 1, 1), copy);
+    assertEquals(List.of(2, 3, 1, 3), deck);
+    assertEquals(2, copy.count(1));
+    assertEquals(1, deck.count(1));
+    assertEquals(new DrawDeck<Integer>(), new DrawDeck<>(new DrawDeck<Integer>()));
+  }
+}
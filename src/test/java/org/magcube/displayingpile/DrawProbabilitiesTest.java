@@ -0,0 +1,86 @@
+package org.magcube.displayingpile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class DrawProbabilitiesTest {
+
+  // probability over all distinct orders of a deck with the given copies of each type, type 0 is the queried type
+  private static double bruteForce(int[] copies, Predicate<List<Integer>> event) {
+    var orders = new ArrayList<List<Integer>>();
+    enumerate(copies.clone(), new ArrayList<>(), Arrays.stream(copies).sum(), orders);
+    return (double) orders.stream().filter(event).count() / orders.size();
+  }
+
+  private static void enumerate(int[] remaining, List<Integer> order, int size, List<List<Integer>> orders) {
+    if (order.size() == size) {
+      orders.add(List.copyOf(order));
+      return;
+    }
+    for (int type = 0; type < remaining.length; type++) {
+      if (remaining[type] > 0) {
+        remaining[type]--;
+        order.add(type);
+        enumerate(remaining, order, size, orders);
+        order.remove(order.size() - 1);
+        remaining[type]++;
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "1, 5, 2",
+      "2, 6, 3",
+      "3, 7, 1",
+      "2, 4, 4",
+      "1, 3, 5",
+      "0, 4, 2",
+      "3, 3, 1"
+  })
+  void anyDrawnShouldMatchBruteForceTest(int copies, int deckSize, int draws) {
+    var expected = bruteForce(new int[]{copies, deckSize - copies},
+        order -> order.subList(0, Math.min(draws, order.size())).contains(0));
+    assertEquals(expected, DrawProbabilities.anyDrawn(deckSize, copies, draws), 1e-9);
+  }
+
+  @Test
+  void firstOccurrenceWithinShouldMatchBruteForceTest() {
+    int[][] decks = {
+        {1, 1, 1, 1},
+        {2, 1, 3, 1},
+        {1, 2, 2, 2, 1},
+        {3, 1, 1, 2},
+        {2, 2, 1, 1, 1, 1},
+    };
+    for (var deck : decks) {
+      // the last type stands for cards of displayed types, which never take a slot
+      var otherTypeCopies = Arrays.copyOfRange(deck, 1, deck.length - 1);
+      var ignoredType = deck.length - 1;
+      for (int slots = 1; slots <= 5; slots++) {
+        var finalSlots = slots;
+        var expected = bruteForce(deck, order -> order.stream().filter(type -> type != ignoredType).distinct().limit(finalSlots).anyMatch(type -> type == 0));
+        assertEquals(expected, DrawProbabilities.firstOccurrenceWithin(deck[0], otherTypeCopies, slots), 1e-9,
+            Arrays.toString(deck) + " slots " + slots);
+      }
+    }
+  }
+
+  @Test
+  void edgeCasesTest() {
+    assertEquals(0, DrawProbabilities.anyDrawn(5, 1, 0));
+    assertEquals(0, DrawProbabilities.anyDrawn(0, 0, 3));
+    assertEquals(1, DrawProbabilities.anyDrawn(3, 1, 5));
+    assertEquals(0, DrawProbabilities.firstOccurrenceWithin(0, new int[]{1, 2}, 2));
+    assertEquals(0, DrawProbabilities.firstOccurrenceWithin(1, new int[]{1, 2}, 0));
+    assertEquals(1, DrawProbabilities.firstOccurrenceWithin(1, new int[]{1, 2}, 3));
+    assertEquals(5.0 / 6, DrawProbabilities.firstOccurrenceWithin(1, new int[]{1, 1, 1, 1, 1}, 5), 1e-12);
+  }
+}
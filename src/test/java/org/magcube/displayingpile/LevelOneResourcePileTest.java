@@ -3,14 +3,18 @@ package org.magcube.displayingpile;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.magcube.displayingpile.DisplayingPileTestUtil.numOfCardsInDisplaying;
 import static org.magcube.displayingpile.DisplayingPileTestUtil.takeCardHelper;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -84,31 +88,26 @@ class LevelOneResourcePileTest {
   }
 
   @Test
-  void getDisplayTest2() throws NoSuchFieldException, IllegalAccessException {
-    List<List<ResourceCard>> mockDisplaying = List.of(
-        List.of(
-            ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 1)).build(),
-            ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 1)).build()
-        ),
-        List.of(
-            ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 2)).build(),
-            ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 2)).build()
-        ),
-        List.of(
-            ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 3)).build(),
-            ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 3)).build()
-        ),
-        List.of(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 4)).build()),
-        List.of(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5)).build())
-    );
+  void getDisplayTest2() {
+    List<ResourceCard> mockDeck = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      mockDeck.add(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, i)).build());
+    }
 
     var pile = new LevelOneResourcePile(Collections.emptyList());
     assertEquals(Collections.nCopies(5, Collections.emptyList()), pile.getDisplaying());
 
-    Field field = pile.getClass().getDeclaredField("displaying");
-    field.setAccessible(true);
-    field.set(pile, mockDisplaying);
-    assertEquals(mockDisplaying, pile.getDisplaying());
+    pile.discardCards(mockDeck);
+    pile.refillCards();
+    var displaying = pile.getDisplaying();
+    assertSame(displaying, pile.getDisplaying());
+    assertTrue(displaying.stream().allMatch(x -> x.size() == 1));
+    assertEquals(Set.copyOf(mockDeck), displaying.stream().map(x -> x.get(0)).collect(Collectors.toSet()));
+    assertThrows(UnsupportedOperationException.class, () -> displaying.get(0).remove(0));
+
+    pile.takeCards(displaying.get(0));
+    assertEquals(1, displaying.get(0).size());
+    assertEquals(List.of(), pile.getDisplaying().get(0));
   }
 
   @ParameterizedTest
@@ -446,4 +445,107 @@ class LevelOneResourcePileTest {
     assertTrue(pile.getDisplaying().get(1).size() > 0);
     assertEquals(0, pile.getDisplaying().stream().filter(x -> x.size() == 0).count());
   }
-}
\ No newline at end of file
+
+  @ParameterizedTest
+  @EnumSource(NumOfPlayers.class)
+  void cardsInDisplayShouldFollowTakeDiscardAndRefillTest(NumOfPlayers numOfPlayers) {
+    var pile = new LevelOneResourcePile(CardDeck.get(numOfPlayers).levelOneResource);
+    var random = new Random(numOfPlayers.getValue());
+
+    for (int round = 0; round < 200; round++) {
+      for (var cards : pile.getDisplaying()) {
+        if (!cards.isEmpty()) {
+          var cardIdentity = cards.get(0).getCardIdentity();
+          var optCards = pile.cardsInDisplay(Collections.nCopies(cards.size(), cardIdentity));
+          assertTrue(optCards.isPresent());
+          assertEquals(cards, optCards.get());
+          assertTrue(pile.cardsInDisplay(Collections.nCopies(cards.size() + 1, cardIdentity)).isEmpty());
+        }
+      }
+
+      var nonEmpty = pile.getDisplaying().stream().filter(cards -> !cards.isEmpty()).toList();
+      if (nonEmpty.isEmpty()) {
+        break;
+      }
+      var cards = nonEmpty.get(random.nextInt(nonEmpty.size()));
+      var taken = List.copyOf(cards.subList(0, 1 + random.nextInt(cards.size())));
+      pile.takeCards(taken);
+      pile.discardCards(taken);
+      pile.refillCards();
+    }
+  }
+
+  @Test
+  void takeCardsShouldCommitReservedCardsTest() {
+    var pile = new LevelOneResourcePile(CardDeck.get(NumOfPlayers.FOUR).levelOneResource);
+    var displaying = pile.getDisplaying();
+    var cardIdentity0 = displaying.get(0).get(0).getCardIdentity();
+    var cardIdentity2 = displaying.get(2).get(0).getCardIdentity();
+
+    var optCards = pile.cardsInDisplay(List.of(cardIdentity2, cardIdentity0));
+    assertTrue(optCards.isPresent());
+    var reservedCards = optCards.get();
+    assertTrue(reservedCards instanceof ReservedCards<ResourceCard>);
+    assertEquals(2, reservedCards.size());
+    assertTrue(reservedCards.containsAll(List.of(displaying.get(0).get(0), displaying.get(2).get(0))));
+    assertThrows(UnsupportedOperationException.class, () -> reservedCards.remove(0));
+
+    pile.takeCards(reservedCards);
+    assertEquals(displaying.get(0).size() - 1, pile.getDisplaying().get(0).size());
+    assertEquals(displaying.get(2).size() - 1, pile.getDisplaying().get(2).size());
+    assertEquals(displaying.get(1), pile.getDisplaying().get(1));
+  }
+
+  @Test
+  void takeCardsShouldSearchForOutdatedReservedCardsTest() {
+    var pile = new LevelOneResourcePile(CardDeck.get(NumOfPlayers.FOUR).levelOneResource);
+    var displaying = pile.getDisplaying();
+    var reservedCards0 = pile.cardsInDisplay(List.of(displaying.get(0).get(0).getCardIdentity())).orElseThrow();
+    var reservedCards1 = pile.cardsInDisplay(List.of(displaying.get(1).get(0).getCardIdentity())).orElseThrow();
+
+    pile.takeCards(reservedCards1);
+    pile.takeCards(reservedCards0);
+    pile.takeCards(reservedCards1);
+
+    assertFalse(pile.getDisplaying().stream().flatMap(List::stream).anyMatch(card -> card == reservedCards0.get(0)));
+    assertFalse(pile.getDisplaying().stream().flatMap(List::stream).anyMatch(card -> card == reservedCards1.get(0)));
+    assertEquals(displaying.get(0).size() - 1, pile.getDisplaying().get(0).size());
+  }
+
+  @Test
+  void displayProbabilityAfterRefillTest() {
+    var pile = new LevelOneResourcePile(CardDeck.get(NumOfPlayers.FOUR).levelOneResource);
+    for (var cards : pile.getDisplaying()) {
+      assertEquals(1, pile.displayProbabilityAfterRefill(cards.get(0).getCardIdentity()));
+    }
+    assertEquals(0, pile.displayProbabilityAfterRefill(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 99999)));
+    assertEquals(0, pile.displayProbabilityAfterRefill(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1)));
+    var notDisplayed = pile.getDeck().stream().map(Card::getCardIdentity)
+        .filter(cardIdentity -> pile.getDisplaying().stream().noneMatch(cards -> cards.get(0).isIdentical(cardIdentity)))
+        .findFirst();
+    // no empty slot, nothing new is displayed
+    notDisplayed.ifPresent(cardIdentity -> assertEquals(0, pile.displayProbabilityAfterRefill(cardIdentity)));
+  }
+
+  @Test
+  void displayProbabilityAfterRefillShouldCountDiscardPileWhenDeckUsedUpTest() {
+    List<ResourceCard> cards = new ArrayList<>();
+    for (int i = 1; i <= 6; i++) {
+      cards.add(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, i)).build());
+    }
+    var pile = new LevelOneResourcePile(Collections.emptyList());
+    pile.discardCards(cards);
+    for (var card : cards) {
+      assertEquals(5.0 / 6, pile.displayProbabilityAfterRefill(card.getCardIdentity()), 1e-12);
+    }
+
+    pile.refillCards();
+    var displayed = pile.getDisplaying().stream().map(x -> x.get(0)).toList();
+    var remaining = pile.getDeck().get(0);
+    pile.takeCards(List.of(displayed.get(0)));
+    pile.takeCards(List.of(displayed.get(1)));
+    // the deck holds one card and two slots are empty
+    assertEquals(1, pile.displayProbabilityAfterRefill(remaining.getCardIdentity()));
+    assertEquals(0, pile.displayProbabilityAfterRefill(displayed.get(0).getCardIdentity()));
+  }
+}
@@ -3,14 +3,17 @@ package org.magcube.displayingpile;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.magcube.displayingpile.DisplayingPileTestUtil.numOfCardsInDisplaying;
 import static org.magcube.displayingpile.DisplayingPileTestUtil.takeCardHelper;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -65,28 +68,26 @@ public class LevelTwoResourcePileTest {
   }
 
   @Test
-  void getDisplayingTest2() throws NoSuchFieldException, IllegalAccessException {
-    List<ResourceCard> mockDisplaying = new ArrayList<>();
-    mockDisplaying.add(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1)).build());
-    mockDisplaying.add(null);
-    mockDisplaying.add(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 3)).build());
-    mockDisplaying.add(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 4)).build());
-    mockDisplaying.add(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 5)).build());
-
-    var pile = new LevelTwoResourcePile(List.of());
+  void getDisplayingTest2() {
+    List<ResourceCard> mockDeck = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      mockDeck.add(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, i)).build());
+    }
 
-    assertEquals(Collections.nCopies(5, List.of()), pile.getDisplaying());
+    assertEquals(Collections.nCopies(5, List.of()), new LevelTwoResourcePile(List.of()).getDisplaying());
 
-    Field field = UniqueCardPile.class.getDeclaredField("availableCards");
-    field.setAccessible(true);
-    field.set(pile, mockDisplaying);
+    var pile = new LevelTwoResourcePile(mockDeck);
+    var displaying = pile.getDisplaying();
+    assertSame(displaying, pile.getDisplaying());
+    assertTrue(displaying.stream().allMatch(x -> x.size() == 1));
+    pile.takeCards(displaying.get(1));
 
     assertEquals(List.of(
-        List.of(mockDisplaying.get(0)),
+        displaying.get(0),
         List.of(),
-        List.of(mockDisplaying.get(2)),
-        List.of(mockDisplaying.get(3)),
-        List.of(mockDisplaying.get(4))
+        displaying.get(2),
+        displaying.get(3),
+        displaying.get(4)
     ), pile.getDisplaying());
   }
 
@@ -401,4 +402,123 @@ public class LevelTwoResourcePileTest {
     assertTrue(pile.getDisplaying().get(1).size() > 0);
     assertEquals(0, pile.getDisplaying().stream().filter(x -> x.size() == 0).count());
   }
+
+  @ParameterizedTest
+  @EnumSource(NumOfPlayers.class)
+  void cardsInDisplayShouldFollowTakeDiscardAndRefillTest(NumOfPlayers numOfPlayers) {
+    var pile = new LevelTwoResourcePile(CardDeck.get(numOfPlayers).levelTwoResource);
+    var random = new Random(numOfPlayers.getValue());
+
+    for (int round = 0; round < 200; round++) {
+      var displayed = pile.getDisplaying().stream().filter(cards -> !cards.isEmpty()).map(cards -> cards.get(0)).toList();
+      for (var card : displayed) {
+        var optCards = pile.cardsInDisplay(List.of(card.getCardIdentity()));
+        assertTrue(optCards.isPresent());
+        assertEquals(card.getCardIdentity(), optCards.get().get(0).getCardIdentity());
+        assertTrue(pile.cardsInDisplay(List.of(card.getCardIdentity(), card.getCardIdentity())).isEmpty());
+      }
+      var allIdentities = displayed.stream().map(Card::getCardIdentity).distinct().toList();
+      var optCards = pile.cardsInDisplay(allIdentities);
+      assertTrue(optCards.isPresent());
+      assertEquals(allIdentities.size(), optCards.get().size());
+
+      if (displayed.isEmpty()) {
+        break;
+      }
+      var taken = List.of(displayed.get(random.nextInt(displayed.size())));
+      pile.takeCards(taken);
+      assertEquals(displayed.size() - 1, numOfCardsInDisplay(pile));
+      pile.discardCards(taken);
+      pile.refillCards();
+    }
+  }
+
+  @Test
+  void cardsInDisplayShouldRejectCopiesInDifferentSlotsTest() {
+    List<ResourceCard> mockDeck = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      mockDeck.add(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, i < 2 ? 1 : i)).build());
+    }
+    var pile = new LevelTwoResourcePile(mockDeck);
+    var cardIdentity = new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1);
+    var first = mockDeck.get(0);
+
+    assertTrue(pile.cardsInDisplay(List.of(cardIdentity)).isEmpty());
+    pile.takeCards(List.of(first));
+    var second = pile.cardsInDisplay(List.of(cardIdentity));
+    assertTrue(second.isPresent());
+    assertNotSame(first, second.get().get(0));
+    pile.takeCards(second.get());
+    assertTrue(pile.cardsInDisplay(List.of(cardIdentity)).isEmpty());
+    assertTrue(pile.cardsInDisplay(List.of(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 2))).isEmpty());
+  }
+
+  private static int numOfCardsInDisplay(DisplayingPile<ResourceCard> pile) {
+    return (int) pile.getDisplaying().stream().filter(cards -> !cards.isEmpty()).count();
+  }
+
+  @Test
+  void takeCardsShouldCommitReservedCardsTest() {
+    var pile = new LevelTwoResourcePile(CardDeck.get(NumOfPlayers.FOUR).levelTwoResource);
+    var displaying = pile.getDisplaying();
+    var cardIdentity0 = displaying.get(0).get(0).getCardIdentity();
+    var cardIdentity2 = displaying.get(2).get(0).getCardIdentity();
+
+    var optCards = pile.cardsInDisplay(List.of(cardIdentity2, cardIdentity0));
+    assertTrue(optCards.isPresent());
+    var reservedCards = optCards.get();
+    assertTrue(reservedCards instanceof ReservedCards<ResourceCard>);
+    assertEquals(2, reservedCards.size());
+    assertTrue(reservedCards.containsAll(List.of(displaying.get(0).get(0), displaying.get(2).get(0))));
+    assertThrows(UnsupportedOperationException.class, () -> reservedCards.remove(0));
+
+    pile.takeCards(reservedCards);
+    assertEquals(displaying.get(0).size() - 1, pile.getDisplaying().get(0).size());
+    assertEquals(displaying.get(2).size() - 1, pile.getDisplaying().get(2).size());
+    assertEquals(displaying.get(1), pile.getDisplaying().get(1));
+  }
+
+  @Test
+  void takeCardsShouldSearchForOutdatedReservedCardsTest() {
+    var pile = new LevelTwoResourcePile(CardDeck.get(NumOfPlayers.FOUR).levelTwoResource);
+    var displaying = pile.getDisplaying();
+    var reservedCards0 = pile.cardsInDisplay(List.of(displaying.get(0).get(0).getCardIdentity())).orElseThrow();
+    var reservedCards1 = pile.cardsInDisplay(List.of(displaying.get(1).get(0).getCardIdentity())).orElseThrow();
+
+    pile.takeCards(reservedCards1);
+    pile.takeCards(reservedCards0);
+    pile.takeCards(reservedCards1);
+
+    assertFalse(pile.getDisplaying().stream().flatMap(List::stream).anyMatch(card -> card == reservedCards0.get(0)));
+    assertFalse(pile.getDisplaying().stream().flatMap(List::stream).anyMatch(card -> card == reservedCards1.get(0)));
+    assertEquals(displaying.get(0).size() - 1, pile.getDisplaying().get(0).size());
+  }
+
+  @Test
+  void displayProbabilityAfterRefillTest() {
+    List<ResourceCard> mockDeck = new ArrayList<>();
+    for (int i = 1; i <= 8; i++) {
+      mockDeck.add(ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, i)).build());
+    }
+    var pile = new LevelTwoResourcePile(mockDeck);
+    var displaying = pile.getDisplaying();
+    assertEquals(1, pile.displayProbabilityAfterRefill(displaying.get(0).get(0).getCardIdentity()));
+    var inDeck = pile.getDeck().get(0).getCardIdentity();
+    assertEquals(0, pile.displayProbabilityAfterRefill(inDeck));
+
+    pile.takeCards(displaying.get(0));
+    pile.takeCards(displaying.get(1));
+    // 2 of the 3 cards in the deck are drawn
+    assertEquals(2.0 / 3, pile.displayProbabilityAfterRefill(inDeck), 1e-12);
+    assertEquals(0, pile.displayProbabilityAfterRefill(displaying.get(0).get(0).getCardIdentity()));
+
+    pile.discardCards(displaying.get(0));
+    pile.refillCards();
+    pile.takeCards(pile.getDisplaying().get(0));
+    pile.refillCards();
+    pile.takeCards(pile.getDisplaying().get(0));
+    // the deck is used up, the next refill reshuffles the discarded card back
+    assertEquals(0, pile.deckSize());
+    assertEquals(1, pile.displayProbabilityAfterRefill(displaying.get(0).get(0).getCardIdentity()));
+  }
 }
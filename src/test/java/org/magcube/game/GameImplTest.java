@@ -4,16 +4,20 @@ package org.magcube.game;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -36,6 +40,9 @@ import org.magcube.exception.GameStartupException;
 import org.magcube.exception.InvalidTradingException;
 import org.magcube.exception.NotAvailableInGameBoardException;
 import org.magcube.exception.PlayerDoesNotOwnCardsException;
+import org.magcube.gameboard.BoardEvent;
+import org.magcube.gameboard.CategorizedCards;
+import org.magcube.gameboard.GameBoardState;
 import org.magcube.player.Player;
 import org.mockito.Mockito;
 
@@ -93,6 +100,147 @@ public class GameImplTest {
     }
   }
 
+  @ParameterizedTest
+  @EnumSource
+  void sameSeedShouldReplaySameGameTest(NumOfPlayers numOfPlayers) throws GameStartupException {
+    var game1 = new GameImpl(numOfPlayers, 42L);
+    var game2 = new GameImpl(numOfPlayers, 42L);
+    game1.startGame();
+    game2.startGame();
+    assertEquals(42L, game1.getSeed());
+    assertEquals(game1.getPlayers().stream().map(Player::getId).toList(), game2.getPlayers().stream().map(Player::getId).toList());
+    for (var cardType : CardType.values()) {
+      var pileState1 = game1.getGameBoard().pileState(cardType);
+      var pileState2 = game2.getGameBoard().pileState(cardType);
+      assertEquals(pileState1.deck().stream().map(Card::getCardIdentity).toList(), pileState2.deck().stream().map(Card::getCardIdentity).toList());
+      assertEquals(pileState1.displaying().stream().map(cards -> cards.stream().map(Card::getCardIdentity).toList()).toList(),
+          pileState2.displaying().stream().map(cards -> cards.stream().map(Card::getCardIdentity).toList()).toList());
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource
+  void stateHashShouldFollowEveryActionTest(NumOfPlayers numOfPlayers) throws GameStartupException {
+    var gameInstance = new GameImpl(numOfPlayers, 7L);
+    gameInstance.startGame();
+    var sameGame = new GameImpl(numOfPlayers, 7L);
+    sameGame.startGame();
+    assertEquals(sameGame.stateHash(), gameInstance.stateHash());
+    assertEquals(gameInstance.computeStateHash(), gameInstance.stateHash());
+
+    var random = new Random(7L);
+    for (int turn = 0; turn < 200 && gameInstance.getWinner() == null; turn++) {
+      var hashBeforeAction = gameInstance.stateHash();
+      if (tradeRandomly(gameInstance, random)) {
+        assertNotEquals(hashBeforeAction, gameInstance.stateHash());
+      } else {
+        assertEquals(hashBeforeAction, gameInstance.stateHash());
+      }
+      assertEquals(gameInstance.computeStateHash(), gameInstance.stateHash());
+      gameInstance.endTurn();
+      assertEquals(gameInstance.computeStateHash(), gameInstance.stateHash());
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource
+  void stateHashShouldFollowEndTurnAfterGameIsWonTest(NumOfPlayers numOfPlayers) throws GameStartupException {
+    var gameInstance = new GameImpl(numOfPlayers, 7L);
+    gameInstance.startGame();
+    // the tokens are added behind the hash and taken back before comparing, only the winner is left changed
+    gameInstance.getPlayers().forEach(player -> player.addPointTokens(10));
+    for (int turn = 0; turn < numOfPlayers.getValue() + 1; turn++) {
+      gameInstance.endTurn();
+      assertEquals(gameInstance.getCurrentPlayer(), gameInstance.getWinner());
+    }
+    gameInstance.getPlayers().forEach(player -> player.addPointTokens(-10));
+    assertEquals(gameInstance.computeStateHash(), gameInstance.stateHash());
+  }
+
+  @ParameterizedTest
+  @EnumSource
+  void copyShouldBranchIndependentlyTest(NumOfPlayers numOfPlayers) throws GameStartupException {
+    var gameInstance = new GameImpl(numOfPlayers, 11L);
+    gameInstance.startGame();
+    playTurns(gameInstance, new Random(11L), 30);
+    var hash = gameInstance.stateHash();
+    var gameBoardState = identitiesOf(gameInstance.gameBoardState());
+
+    var copy = gameInstance.copy();
+    assertEquals(hash, copy.stateHash());
+    assertEquals(gameBoardState, identitiesOf(copy.gameBoardState()));
+    assertEquals(gameInstance.getCurrentPlayer().getId(), copy.getCurrentPlayer().getId());
+    assertNotSame(gameInstance.getCurrentPlayer(), copy.getCurrentPlayer());
+
+    playTurns(copy, new Random(12L), 30);
+    assertEquals(copy.computeStateHash(), copy.stateHash());
+    assertEquals(hash, gameInstance.stateHash());
+    assertEquals(hash, gameInstance.computeStateHash());
+    assertEquals(gameBoardState, identitiesOf(gameInstance.gameBoardState()));
+  }
+
+  @ParameterizedTest
+  @EnumSource
+  void restoreShouldReplayFromSnapshotTest(NumOfPlayers numOfPlayers) throws GameStartupException {
+    var gameInstance = new GameImpl(numOfPlayers, 13L);
+    gameInstance.startGame();
+    playTurns(gameInstance, new Random(13L), 20);
+    var snapshot = gameInstance.copy();
+    var events = new ArrayList<BoardEvent>();
+    gameInstance.getGameBoard().addEventListener(events::add);
+
+    playTurns(gameInstance, new Random(14L), 30);
+    var hashAfterTurns = gameInstance.stateHash();
+    var gameBoardStateAfterTurns = identitiesOf(gameInstance.gameBoardState());
+
+    gameInstance.restore(snapshot);
+    assertEquals(snapshot.stateHash(), gameInstance.stateHash());
+    assertEquals(gameInstance.computeStateHash(), gameInstance.stateHash());
+    assertEquals(identitiesOf(snapshot.gameBoardState()), identitiesOf(gameInstance.gameBoardState()));
+
+    // the random generator is restored too, so the same turns lead to the same state
+    var numOfEvents = events.size();
+    playTurns(gameInstance, new Random(14L), 30);
+    assertEquals(hashAfterTurns, gameInstance.stateHash());
+    assertEquals(gameBoardStateAfterTurns, identitiesOf(gameInstance.gameBoardState()));
+    assertTrue(events.size() > numOfEvents);
+
+    assertThrows(IllegalArgumentException.class, () -> gameInstance.restore(new GameImpl(numOfPlayers, 14L)));
+  }
+
+  private static void playTurns(GameImpl gameInstance, Random random, int turns) {
+    for (int turn = 0; turn < turns && gameInstance.getWinner() == null; turn++) {
+      tradeRandomly(gameInstance, random);
+      gameInstance.endTurn();
+    }
+  }
+
+  // trades a displayed level one resource by coins or by a resource in hand, false if the trade is not allowed
+  private static boolean tradeRandomly(GameImpl gameInstance, Random random) {
+    var displaying = gameInstance.gameBoardState().levelOneResource().displaying().stream().filter(cards -> !cards.isEmpty()).toList();
+    var target = displaying.get(random.nextInt(displaying.size())).get(0).getCardIdentity();
+    var hand = gameInstance.getCurrentPlayer().getResources();
+    try {
+      if (hand.isEmpty() || random.nextBoolean()) {
+        gameInstance.tradeCardsByCoins(List.of(target));
+      } else {
+        gameInstance.tradeCardsByCards(List.of(hand.get(random.nextInt(hand.size())).getCardIdentity()), List.of(target));
+      }
+      return true;
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  private static List<List<List<CardIdentity>>> identitiesOf(GameBoardState gameBoardState) {
+    return Stream.of(gameBoardState.basicResource(), gameBoardState.levelOneResource(), gameBoardState.levelTwoResource(), gameBoardState.building())
+        .map(pileState -> List.of(
+            pileState.displaying().stream().flatMap(List::stream).map(Card::getCardIdentity).toList(),
+            pileState.deck().stream().map(Card::getCardIdentity).toList(),
+            pileState.discardPile().stream().map(Card::getCardIdentity).toList()))
+        .toList();
+  }
+
   @Test
   void endTurnTest() throws GameStartupException {
     var gameInstance = new GameImpl();
@@ -163,7 +311,7 @@ public class GameImplTest {
       var mockedCard = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1)).value(999).build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_TWO_RESOURCE, List.of(mockedCard));
         }}));
       });
@@ -183,7 +331,7 @@ public class GameImplTest {
       var mockedCard = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1)).value(999).build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_TWO_RESOURCE, List.of(mockedCard));
         }}));
       });
@@ -223,18 +371,18 @@ public class GameImplTest {
       List<BuildingCard> expectedBuildingCards = List.of(
           BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 4)).build()
       );
-      HashMap<CardType, List<? extends Card>> expectedCategorizedCard = new HashMap<>() {{
+      CategorizedCards<Card> expectedCategorizedCard = new CategorizedCards<Card>() {{
         put(CardType.BASIC_RESOURCE, List.of(expectedResourceCards.get(0)));
         put(CardType.LEVEL_ONE_RESOURCE, List.of(expectedResourceCards.get(1)));
         put(CardType.LEVEL_TWO_RESOURCE, List.of(expectedResourceCards.get(2)));
         put(CardType.BUILDING, List.of(expectedBuildingCards.get(0)));
       }};
 
-      assertTrue(currentPlayer.getResources().containsAll(expectedResourceCards));
-      assertTrue(currentPlayer.getBuildings().containsAll(expectedBuildingCards));
+      assertTrue(GameTestUtils.containsAllByValue(currentPlayer.getResources(), expectedResourceCards));
+      assertTrue(GameTestUtils.containsAllByValue(currentPlayer.getBuildings(), expectedBuildingCards));
       assertEquals(0, currentPlayer.getCoin());
       assertTrue(game.getCurrentPlayer().isTradedOrPlayerProduced());
-      verify(game.getGameBoard()).takeCards(expectedCategorizedCard);
+      verify(game.getGameBoard()).takeCards(GameTestUtils.valueEq(expectedCategorizedCard));
     }
   }
 
@@ -425,7 +573,7 @@ public class GameImplTest {
       var mockedTargetCard = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 1)).value(999).build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.BUILDING, List.of(mockedTargetCard));
         }}));
       });
@@ -450,7 +598,7 @@ public class GameImplTest {
       var mockedTargetCard = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 1)).value(999).build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.BUILDING, List.of(mockedTargetCard));
         }}));
       });
@@ -475,7 +623,7 @@ public class GameImplTest {
       var mockedTargetCard2 = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 2)).value(999).build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.BUILDING, List.of(mockedTargetCard1, mockedTargetCard2));
         }}));
       });
@@ -507,7 +655,7 @@ public class GameImplTest {
 
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.BASIC_RESOURCE, List.of(targetCards.get(0), targetCards.get(1)));
           put(CardType.LEVEL_ONE_RESOURCE, List.of(targetCards.get(2)));
           put(CardType.BUILDING, List.of(targetCards.get(3)));
@@ -524,11 +672,11 @@ public class GameImplTest {
       ));
       currentPlayer.takeBuildingCards(List.of(ownBuildingCard));
 
-      var expectedCategorizedPaymentCards = new HashMap<CardType, List<? extends Card>>() {{
+      var expectedCategorizedPaymentCards = new CategorizedCards<Card>() {{
         put(CardType.LEVEL_TWO_RESOURCE, List.of(paymentCard));
       }};
 
-      var expectedCategorizedTargetCards = new HashMap<CardType, List<? extends Card>>() {{
+      var expectedCategorizedTargetCards = new CategorizedCards<Card>() {{
         put(CardType.BASIC_RESOURCE, List.of(targetCards.get(0), targetCards.get(1)));
         put(CardType.LEVEL_ONE_RESOURCE, List.of(targetCards.get(2)));
         put(CardType.BUILDING, List.of(targetCards.get(3)));
@@ -609,7 +757,7 @@ public class GameImplTest {
           .build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_ONE_RESOURCE, List.of(productCard));
         }}));
       });
@@ -627,7 +775,7 @@ public class GameImplTest {
           .build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_ONE_RESOURCE, List.of(productCard));
         }}));
       });
@@ -660,7 +808,7 @@ public class GameImplTest {
           .build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_ONE_RESOURCE, List.of(productCard));
         }}));
       });
@@ -683,7 +831,7 @@ public class GameImplTest {
           .build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_ONE_RESOURCE, List.of(productCard));
         }}));
       });
@@ -692,11 +840,11 @@ public class GameImplTest {
       var currentPlayer = game.getCurrentPlayer();
       currentPlayer.takeResourceCards(List.of(costCard));
 
-      var expectedCategorizedCostCard = new HashMap<CardType, List<? extends Card>>() {{
+      var expectedCategorizedCostCard = new CategorizedCards<Card>() {{
         put(CardType.BASIC_RESOURCE, List.of(costCard));
       }};
 
-      var expectedCategorizedProductCard = new HashMap<CardType, List<? extends Card>>() {{
+      var expectedCategorizedProductCard = new CategorizedCards<Card>() {{
         put(CardType.LEVEL_ONE_RESOURCE, List.of(productCard));
       }};
 
@@ -733,7 +881,7 @@ public class GameImplTest {
           .build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.BUILDING, List.of(productCard));
         }}));
       });
@@ -742,13 +890,13 @@ public class GameImplTest {
       var currentPlayer = game.getCurrentPlayer();
       currentPlayer.takeResourceCards(costCards);
 
-      var expectedCategorizedCostCard = new HashMap<CardType, List<? extends Card>>() {{
+      var expectedCategorizedCostCard = new CategorizedCards<Card>() {{
         put(CardType.BASIC_RESOURCE, List.of(costCards.get(0)));
         put(CardType.LEVEL_ONE_RESOURCE, List.of(costCards.get(1)));
         put(CardType.LEVEL_TWO_RESOURCE, List.of(costCards.get(2)));
       }};
 
-      var expectedCategorizedProductCard = new HashMap<CardType, List<? extends Card>>() {{
+      var expectedCategorizedProductCard = new CategorizedCards<Card>() {{
         put(CardType.BUILDING, List.of(productCard));
       }};
 
@@ -817,7 +965,7 @@ public class GameImplTest {
           .build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_TWO_RESOURCE, List.of(productCard));
         }}));
       });
@@ -847,7 +995,7 @@ public class GameImplTest {
           .build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_TWO_RESOURCE, List.of(productCard));
         }}));
       });
@@ -865,7 +1013,7 @@ public class GameImplTest {
           .build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(List.of(productCardIdentity))).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(List.of(productCardIdentity))).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_TWO_RESOURCE, List.of(productCard));
         }}));
       });
@@ -899,7 +1047,7 @@ public class GameImplTest {
           .build();
       GameTestUtils.injectMockGameBoard(game, (mockedGameBoard) -> {
         GameTestUtils.mockTakeCardsDoNothing(mockedGameBoard);
-        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+        Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
           put(CardType.LEVEL_TWO_RESOURCE, List.of(productCard));
         }}));
       });
@@ -922,7 +1070,7 @@ public class GameImplTest {
           .capital(new CardIdentity[]{capitalCardIdentities.get(0)})
           .build();
       GameTestUtils.injectMockGameBoard(game,
-          (mockedGameBoard) -> Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new HashMap<>() {{
+          (mockedGameBoard) -> Mockito.when(mockedGameBoard.cardsInDisplay(any())).thenReturn(Optional.of(new CategorizedCards<Card>() {{
             put(CardType.LEVEL_TWO_RESOURCE, List.of(productCard));
           }})));
 
@@ -930,7 +1078,7 @@ public class GameImplTest {
       var currentPlayer = game.getCurrentPlayer();
       currentPlayer.takeResourceCards(List.of(capitalCard));
 
-      var expectedCategorizedProductCard = new HashMap<CardType, List<? extends Card>>() {{
+      var expectedCategorizedProductCard = new CategorizedCards<Card>() {{
         put(CardType.LEVEL_TWO_RESOURCE, List.of(productCard));
       }};
 
@@ -1052,7 +1200,7 @@ public class GameImplTest {
             .effectPoints(2)
             .build();
 
-        var categorizedCostCards = new HashMap<CardType, List<? extends Card>>() {{
+        var categorizedCostCards = new CategorizedCards<Card>() {{
           put(CardType.LEVEL_TWO_RESOURCE, List.of(costCard));
         }};
 
@@ -1171,11 +1319,11 @@ public class GameImplTest {
           GameTestUtils.mockTakeCardsDoNothing(gameBoard);
         });
 
-        var categorizedCostCards = new HashMap<CardType, List<? extends Card>>() {{
+        var categorizedCostCards = new CategorizedCards<Card>() {{
           put(CardType.BASIC_RESOURCE, List.of(costCard));
         }};
 
-        var categorizedProductCards = new HashMap<CardType, List<? extends Card>>() {{
+        var categorizedProductCards = new CategorizedCards<Card>() {{
           put(CardType.LEVEL_ONE_RESOURCE, List.of(productCard));
         }};
 
@@ -1192,8 +1340,8 @@ public class GameImplTest {
         assertEquals(1, currentPlayer.getBuildings().size());
         assertTrue(currentPlayer.getBuildings().contains(buildingCard));
         assertEquals(1, currentPlayer.getResources().size());
-        assertTrue(currentPlayer.getResources().contains(productCard));
-        verify(game.getGameBoard()).takeCards(categorizedProductCards);
+        assertTrue(GameTestUtils.containsAllByValue(currentPlayer.getResources(), List.of(productCard)));
+        verify(game.getGameBoard()).takeCards(GameTestUtils.valueEq(categorizedProductCards));
         verify(game.getGameBoard()).discardCards(categorizedCostCards);
       }
     }
@@ -1292,7 +1440,7 @@ public class GameImplTest {
           GameTestUtils.mockTakeCardsDoNothing(gameBoard);
         });
 
-        var categorizedProductCards = new HashMap<CardType, List<? extends Card>>() {{
+        var categorizedProductCards = new CategorizedCards<Card>() {{
           put(CardType.LEVEL_ONE_RESOURCE, List.of(productCard));
         }};
 
@@ -1309,8 +1457,9 @@ public class GameImplTest {
         assertEquals(1, currentPlayer.getBuildings().size());
         assertTrue(currentPlayer.getBuildings().contains(buildingCard));
         assertEquals(2, currentPlayer.getResources().size());
-        assertTrue(currentPlayer.getResources().containsAll(List.of(capitalCard, productCard)));
-        verify(game.getGameBoard()).takeCards(categorizedProductCards);
+        assertTrue(currentPlayer.getResources().contains(capitalCard));
+        assertTrue(GameTestUtils.containsAllByValue(currentPlayer.getResources(), List.of(productCard)));
+        verify(game.getGameBoard()).takeCards(GameTestUtils.valueEq(categorizedProductCards));
       }
     }
   }
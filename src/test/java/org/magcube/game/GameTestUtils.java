@@ -1,10 +1,11 @@
 package org.magcube.game;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.UnaryOperator;
@@ -13,6 +14,7 @@ import org.magcube.card.Card;
 import org.magcube.card.CardIdentity;
 import org.magcube.card.ResourceCard;
 import org.magcube.enums.CardType;
+import org.magcube.gameboard.CategorizedCards;
 import org.magcube.gameboard.GameBoard;
 import org.magcube.gameboard.GameBoards;
 import org.mockito.Mockito;
@@ -25,7 +27,7 @@ public class GameTestUtils {
     void accept(T t) throws E;
   }
 
-  public static HashMap<CardType, List<? extends Card>> cardsInDisplayReturnDummyCards(List<CardIdentity> cardIdentities) {
+  public static CategorizedCards<Card> cardsInDisplayReturnDummyCards(List<CardIdentity> cardIdentities) {
     UnaryOperator<CardIdentity> cloneCardIdentity = (x) -> new CardIdentity(x.cardType(), x.typeId());
 
     ArrayList<Card> cards = new ArrayList<>();
@@ -39,6 +41,29 @@ public class GameTestUtils {
     return GameBoards.categorizeCards(cards);
   }
 
+  // cards compare by instance, the dummy cards from the mock can only be compared by value
+  public static CategorizedCards<Card> valueEq(CategorizedCards<Card> expected) {
+    return argThat(actual -> actual != null && Arrays.stream(CardType.values())
+        .allMatch(cardType -> expected.containsKey(cardType) == actual.containsKey(cardType)
+            && isValueEqual(expected.get(cardType), actual.get(cardType))));
+  }
+
+  public static boolean isValueEqual(List<? extends Card> expected, List<? extends Card> actual) {
+    if (expected.size() != actual.size()) {
+      return false;
+    }
+    for (int i = 0; i < expected.size(); i++) {
+      if (!expected.get(i).valueEquals(actual.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean containsAllByValue(List<? extends Card> cards, List<? extends Card> expected) {
+    return expected.stream().allMatch(x -> cards.stream().anyMatch(x::valueEquals));
+  }
+
   public static void mockTakeCardsDoNothing(GameBoard gameBoardMock) {
     Mockito.doNothing().when(gameBoardMock).takeCards(any());
   }
@@ -0,0 +1,88 @@
+package org.magcube.gameboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.magcube.card.BuildingCard;
+import org.magcube.card.Card;
+import org.magcube.card.CardIdentity;
+import org.magcube.card.ResourceCard;
+import org.magcube.enums.CardType;
+
+class CategorizedCardsTest {
+
+  private final ResourceCard basic = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 1)).build();
+  private final ResourceCard levelTwo = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1)).build();
+  private final BuildingCard building = BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 1)).build();
+
+  @Test
+  void addAndGetTest() {
+    var categorizedCards = new CategorizedCards<Card>();
+    assertTrue(categorizedCards.isEmpty());
+
+    categorizedCards.add(CardType.BASIC_RESOURCE, basic);
+    categorizedCards.add(CardType.BUILDING, building);
+    categorizedCards.add(CardType.BASIC_RESOURCE, basic);
+
+    assertEquals(2, categorizedCards.size());
+    assertTrue(categorizedCards.containsKey(CardType.BASIC_RESOURCE));
+    assertTrue(categorizedCards.containsKey(CardType.BUILDING));
+    assertFalse(categorizedCards.containsKey(CardType.LEVEL_ONE_RESOURCE));
+    assertEquals(List.of(basic, basic), categorizedCards.get(CardType.BASIC_RESOURCE));
+    assertEquals(List.of(building), categorizedCards.get(CardType.BUILDING));
+    assertTrue(categorizedCards.get(CardType.LEVEL_ONE_RESOURCE).isEmpty());
+  }
+
+  @Test
+  void putShouldKeepTheListTest() {
+    var categorizedCards = new CategorizedCards<Card>();
+    var cards = List.of(levelTwo);
+    categorizedCards.put(CardType.LEVEL_TWO_RESOURCE, cards);
+
+    assertEquals(1, categorizedCards.size());
+    assertSame(cards, categorizedCards.get(CardType.LEVEL_TWO_RESOURCE));
+    assertThrows(IllegalStateException.class, () -> categorizedCards.add(CardType.LEVEL_TWO_RESOURCE, levelTwo));
+  }
+
+  @Test
+  void clearShouldReuseTheListsTest() {
+    var categorizedCards = new CategorizedCards<Card>();
+    categorizedCards.add(CardType.BASIC_RESOURCE, basic);
+    var basicCards = categorizedCards.get(CardType.BASIC_RESOURCE);
+    categorizedCards.put(CardType.BUILDING, List.of(building));
+
+    categorizedCards.clear();
+    assertTrue(categorizedCards.isEmpty());
+    assertFalse(categorizedCards.containsKey(CardType.BASIC_RESOURCE));
+    assertFalse(categorizedCards.containsKey(CardType.BUILDING));
+
+    categorizedCards.add(CardType.BASIC_RESOURCE, basic);
+    categorizedCards.add(CardType.BUILDING, building);
+    assertSame(basicCards, categorizedCards.get(CardType.BASIC_RESOURCE));
+    assertEquals(List.of(basic), categorizedCards.get(CardType.BASIC_RESOURCE));
+    assertEquals(List.of(building), categorizedCards.get(CardType.BUILDING));
+  }
+
+  @Test
+  void equalsTest() {
+    var added = new CategorizedCards<Card>();
+    added.add(CardType.BASIC_RESOURCE, basic);
+    added.add(CardType.LEVEL_TWO_RESOURCE, levelTwo);
+
+    var put = new CategorizedCards<Card>();
+    put.put(CardType.LEVEL_TWO_RESOURCE, List.of(levelTwo));
+    put.put(CardType.BASIC_RESOURCE, List.of(basic));
+
+    assertEquals(added, put);
+    assertEquals(added.hashCode(), put.hashCode());
+
+    put.put(CardType.BUILDING, List.of());
+    assertNotEquals(added, put);
+  }
+}
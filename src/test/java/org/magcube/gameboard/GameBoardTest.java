@@ -2,13 +2,19 @@ package org.magcube.gameboard;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.magcube.displayingpile.DisplayingPileTestUtil.numOfCardsInDisplaying;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -18,8 +24,11 @@ import org.magcube.card.BuildingCard;
 import org.magcube.card.Card;
 import org.magcube.card.CardIdentity;
 import org.magcube.card.ResourceCard;
+import org.magcube.displayingpile.CountingBasicResourcePile;
+import org.magcube.displayingpile.PileState;
 import org.magcube.enums.CardType;
 import org.magcube.enums.NumOfPlayers;
+import org.magcube.enums.PileEventType;
 import org.magcube.exception.CardIdentitiesException;
 
 
@@ -29,7 +38,9 @@ class GameBoardTest {
     return Stream.of(
         new GameBoard(NumOfPlayers.TWO),
         new GameBoard(NumOfPlayers.THREE),
-        new GameBoard(NumOfPlayers.FOUR)
+        new GameBoard(NumOfPlayers.FOUR),
+        new GameBoard(NumOfPlayers.TWO, RandomGenerator.getDefault(), CountingBasicResourcePile::new),
+        new GameBoard(NumOfPlayers.FOUR, RandomGenerator.getDefault(), CountingBasicResourcePile::new)
     );
   }
 
@@ -78,6 +89,113 @@ class GameBoardTest {
     assertEquals(gameBoard.pileState(CardType.BUILDING), gameBoardState.building());
   }
 
+  @ParameterizedTest
+  @MethodSource("gameBoardProvider")
+  void gameBoardStateShouldBeSnapshotTest(GameBoard gameBoard) {
+    var gameBoardState = gameBoard.gameBoardState();
+    var expected = List.of(copyOf(gameBoardState.basicResource()), copyOf(gameBoardState.levelOneResource()),
+        copyOf(gameBoardState.levelTwoResource()), copyOf(gameBoardState.building()));
+
+    for (var cardType : CardType.values()) {
+      var card = gameBoard.pileState(cardType).displaying().get(0).get(0);
+      var optCards = gameBoard.cardsInDisplay(List.of(card.getCardIdentity()));
+      assertTrue(optCards.isPresent());
+      gameBoard.takeCards(optCards.get());
+    }
+    gameBoard.refillCards();
+
+    assertEquals(expected, List.of(gameBoardState.basicResource(), gameBoardState.levelOneResource(),
+        gameBoardState.levelTwoResource(), gameBoardState.building()));
+    assertNotEquals(expected, List.of(gameBoard.pileState(CardType.BASIC_RESOURCE), gameBoard.pileState(CardType.LEVEL_ONE_RESOURCE),
+        gameBoard.pileState(CardType.LEVEL_TWO_RESOURCE), gameBoard.pileState(CardType.BUILDING)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("gameBoardProvider")
+  void boardEventsShouldFollowChangesTest(GameBoard gameBoard) throws CardIdentitiesException {
+    var events = new ArrayList<BoardEvent>();
+    Consumer<BoardEvent> listener = events::add;
+    gameBoard.addEventListener(listener);
+
+    var taken = new HashMap<CardType, Card>();
+    for (var cardType : CardType.values()) {
+      var card = gameBoard.pileState(cardType).displaying().get(0).get(0);
+      var optCards = gameBoard.cardsInDisplay(List.of(card.getCardIdentity()));
+      assertTrue(optCards.isPresent());
+      gameBoard.takeCards(optCards.get());
+      taken.put(cardType, optCards.get().get(cardType).get(0));
+    }
+    assertEquals(CardType.values().length, events.size());
+    for (var event : events) {
+      var pileEvent = event.pileEvent();
+      assertEquals(PileEventType.CARD_TAKEN, pileEvent.type());
+      assertEquals(0, pileEvent.slot());
+      assertSame(taken.get(pileEvent.cardType()), pileEvent.card());
+    }
+
+    var levelTwoCard = taken.get(CardType.LEVEL_TWO_RESOURCE);
+    gameBoard.discardCards(GameBoard.validateAndCategorizeDiscardCards(List.of(levelTwoCard)));
+    var discarded = events.get(events.size() - 1).pileEvent();
+    assertEquals(PileEventType.CARD_DISCARDED, discarded.type());
+    assertSame(levelTwoCard, discarded.card());
+
+    var numOfEvents = events.size();
+    gameBoard.refillCards();
+    var refilled = events.subList(numOfEvents, events.size()).stream().map(BoardEvent::pileEvent)
+        .filter(pileEvent -> pileEvent.type() == PileEventType.SLOT_REFILLED).toList();
+    assertTrue(refilled.stream().anyMatch(pileEvent -> pileEvent.cardType() == CardType.LEVEL_TWO_RESOURCE && pileEvent.slot() == 0));
+    for (var pileEvent : refilled) {
+      var cards = gameBoard.pileState(pileEvent.cardType()).displaying().get(pileEvent.slot());
+      assertTrue(cards.stream().anyMatch(card -> card == pileEvent.card()));
+    }
+    for (int i = 0; i < events.size(); i++) {
+      assertEquals(i, events.get(i).sequence());
+    }
+
+    gameBoard.removeEventListener(listener);
+    numOfEvents = events.size();
+    var card = gameBoard.pileState(CardType.BASIC_RESOURCE).displaying().get(1).get(0);
+    gameBoard.takeCards(gameBoard.cardsInDisplay(List.of(card.getCardIdentity())).orElseThrow());
+    assertEquals(numOfEvents, events.size());
+  }
+
+  @ParameterizedTest
+  @MethodSource("gameBoardProvider")
+  void copyAndRestoreShouldBeIndependentTest(GameBoard gameBoard) {
+    var gameBoardState = gameBoard.gameBoardState();
+    var copy = gameBoard.copy(RandomGenerator.of("Xoroshiro128PlusPlus"));
+    assertEquals(gameBoardState, copy.gameBoardState());
+
+    var events = new ArrayList<BoardEvent>();
+    gameBoard.addEventListener(events::add);
+    for (var cardType : CardType.values()) {
+      var card = copy.pileState(cardType).displaying().get(0).get(0);
+      copy.takeCards(copy.cardsInDisplay(List.of(card.getCardIdentity())).orElseThrow());
+    }
+    copy.refillCards();
+    assertTrue(events.isEmpty());
+    assertEquals(gameBoardState, gameBoard.gameBoardState());
+    var copyState = copy.gameBoardState();
+
+    gameBoard.restore(copy, RandomGenerator.of("Xoroshiro128PlusPlus"));
+    assertEquals(copyState, gameBoard.gameBoardState());
+    var card = gameBoard.pileState(CardType.LEVEL_ONE_RESOURCE).displaying().get(1).get(0);
+    gameBoard.takeCards(gameBoard.cardsInDisplay(List.of(card.getCardIdentity())).orElseThrow());
+    assertEquals(1, events.size());
+    assertEquals(copyState, copy.gameBoardState());
+
+    // the sequence continues from the snapshot like it does for the copy
+    var copyEvents = new ArrayList<BoardEvent>();
+    copy.addEventListener(copyEvents::add);
+    copy.takeCards(copy.cardsInDisplay(List.of(card.getCardIdentity())).orElseThrow());
+    assertEquals(copyEvents.get(0).sequence(), events.get(0).sequence());
+  }
+
+  private static <T extends Card> PileState<T> copyOf(PileState<T> pileState) {
+    return new PileState<>(pileState.cardType(), pileState.displaying().stream().map(ArrayList::new).collect(Collectors.toList()),
+        new ArrayList<>(pileState.deck()), new ArrayList<>(pileState.discardPile()));
+  }
+
   @ParameterizedTest
   @MethodSource("gameBoardProvider")
   void cardsInDisplayTest1(GameBoard gameBoard) {
@@ -256,7 +374,7 @@ class GameBoardTest {
     var card6 = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 3)).build();
     var card7 = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 2)).build();
 
-    HashMap<CardType, List<? extends Card>> expected = new HashMap<>();
+    var expected = new CategorizedCards<Card>();
     expected.put(CardType.BASIC_RESOURCE, List.of(card1, card2, card3));
     expected.put(CardType.LEVEL_ONE_RESOURCE, List.of(card4, card5, card6));
     expected.put(CardType.LEVEL_TWO_RESOURCE, List.of(card7));
@@ -273,7 +391,7 @@ class GameBoardTest {
     var card3 = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 2)).build();
     var card4 = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 2)).build();
 
-    HashMap<CardType, List<? extends Card>> expected = new HashMap<>();
+    var expected = new CategorizedCards<Card>();
     expected.put(CardType.BASIC_RESOURCE, List.of(card1, card2, card3));
     expected.put(CardType.LEVEL_ONE_RESOURCE, List.of(card4));
 
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
@@ -17,6 +18,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.magcube.card.BuildingCard;
 import org.magcube.card.Card;
+import org.magcube.card.CardData;
 import org.magcube.card.CardDeck;
 import org.magcube.card.CardIdentity;
 import org.magcube.card.ResourceCard;
@@ -53,7 +55,7 @@ class GameBoardsTest {
           new CardIdentity(CardType.BUILDING, 7890)));
     }};
 
-    HashMap<CardType, List<CardIdentity>> actualData = GameBoards.categorizeCardIdentities(cardIdentities);
+    CategorizedCards<CardIdentity> actualData = GameBoards.categorizeCardIdentities(cardIdentities);
 
     assertEquals(expectedData.size(), actualData.size());
     for (CardType cardType : expectedData.keySet()) {
@@ -78,7 +80,7 @@ class GameBoardsTest {
           new CardIdentity(CardType.BUILDING, 7890)));
     }};
 
-    HashMap<CardType, List<CardIdentity>> actualData = GameBoards.categorizeCardIdentities(cardIdentities);
+    CategorizedCards<CardIdentity> actualData = GameBoards.categorizeCardIdentities(cardIdentities);
 
     assertFalse(actualData.containsKey(CardType.BASIC_RESOURCE));
     assertFalse(actualData.containsKey(CardType.LEVEL_TWO_RESOURCE));
@@ -103,21 +105,13 @@ class GameBoardsTest {
     );
 
     var expectedData = new HashMap<CardType, List<? extends Card>>() {{
-      put(CardType.BASIC_RESOURCE, List.of(
-          ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 1234)).build(),
-          ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 1234)).build(),
-          ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 9012)).build()));
-      put(CardType.LEVEL_ONE_RESOURCE, List.of(
-          ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5678)).build(),
-          ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5678)).build(),
-          ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 4682)).build()));
-      put(CardType.LEVEL_TWO_RESOURCE, List.of(
-          ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 3456)).build()));
-      put(CardType.BUILDING, List.of(
-          BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 7890)).build()));
+      put(CardType.BASIC_RESOURCE, List.of(cards.get(0), cards.get(1), cards.get(3)));
+      put(CardType.LEVEL_ONE_RESOURCE, List.of(cards.get(2), cards.get(5), cards.get(6)));
+      put(CardType.LEVEL_TWO_RESOURCE, List.of(cards.get(4)));
+      put(CardType.BUILDING, List.of(cards.get(7)));
     }};
 
-    HashMap<CardType, List<? extends Card>> actualData = GameBoards.categorizeCards(cards);
+    CategorizedCards<Card> actualData = GameBoards.categorizeCards(cards);
 
     assertEquals(expectedData.size(), actualData.size());
     for (CardType cardType : expectedData.keySet()) {
@@ -136,14 +130,11 @@ class GameBoardsTest {
     );
 
     var expectedData = new HashMap<CardType, List<? extends Card>>() {{
-      put(CardType.LEVEL_ONE_RESOURCE, List.of(
-          ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5678)).build(),
-          ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 5678)).build()));
-      put(CardType.BUILDING, List.of(
-          BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 7890)).build()));
+      put(CardType.LEVEL_ONE_RESOURCE, List.of(cards.get(0), cards.get(1)));
+      put(CardType.BUILDING, List.of(cards.get(2)));
     }};
 
-    HashMap<CardType, List<? extends Card>> actualData = GameBoards.categorizeCards(cards);
+    CategorizedCards<Card> actualData = GameBoards.categorizeCards(cards);
 
     assertFalse(actualData.containsKey(CardType.BASIC_RESOURCE));
     assertFalse(actualData.containsKey(CardType.LEVEL_TWO_RESOURCE));
@@ -283,7 +274,7 @@ class GameBoardsTest {
     );
     assertEquals(6, GameBoards.sumOfCardsValue(cards));
 
-    HashMap<CardType, List<? extends Card>> categorizedCards = new HashMap<>();
+    var categorizedCards = new CategorizedCards<Card>();
     categorizedCards.put(CardType.BUILDING, cards);
     assertEquals(6, GameBoards.sumOfCardsValue(categorizedCards));
   }
@@ -296,7 +287,7 @@ class GameBoardsTest {
     );
     assertEquals(7, GameBoards.sumOfCardsValue(cards));
 
-    HashMap<CardType, List<? extends Card>> categorizedCards = new HashMap<>();
+    var categorizedCards = new CategorizedCards<Card>();
     categorizedCards.put(CardType.BASIC_RESOURCE, List.of(cards.get(0)));
     categorizedCards.put(CardType.BUILDING, List.of(cards.get(1)));
     assertEquals(7, GameBoards.sumOfCardsValue(categorizedCards));
@@ -316,7 +307,7 @@ class GameBoardsTest {
     );
     assertEquals(28, GameBoards.sumOfCardsValue(cards));
 
-    HashMap<CardType, List<? extends Card>> categorizedCards = new HashMap<>();
+    var categorizedCards = new CategorizedCards<Card>();
     categorizedCards.put(CardType.BASIC_RESOURCE, List.of(cards.get(0), cards.get(1), cards.get(2)));
     categorizedCards.put(CardType.LEVEL_ONE_RESOURCE, List.of(cards.get(3), cards.get(4), cards.get(5)));
     categorizedCards.put(CardType.LEVEL_TWO_RESOURCE, List.of(cards.get(6)));
@@ -324,6 +315,24 @@ class GameBoardsTest {
     assertEquals(28, GameBoards.sumOfCardsValue(categorizedCards));
   }
 
+  @Test
+  void sumOfCardsValueByCardIdentitiesTest() {
+    var cardIdentities = List.of(
+        new CardIdentity(CardType.BASIC_RESOURCE, 1),
+        new CardIdentity(CardType.BASIC_RESOURCE, 1),
+        new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 1),
+        new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1),
+        new CardIdentity(CardType.BUILDING, 1)
+    );
+    var expected = cardIdentities.stream().mapToInt(CardData::valueOf).sum();
+
+    assertEquals(expected, GameBoards.sumOfCardIdentitiesValue(cardIdentities));
+    assertEquals(expected, GameBoards.sumOfCardsValue(cardIdentities.toArray(CardIdentity[]::new)));
+    assertEquals(0, GameBoards.sumOfCardIdentitiesValue(List.of()));
+    assertThrows(IllegalArgumentException.class,
+        () -> GameBoards.sumOfCardIdentitiesValue(List.of(new CardIdentity(CardType.BASIC_RESOURCE, 99999))));
+  }
+
   @Test
   void flattenResourceCardsFromCategorizedCardsTest1() {
     var cards = List.of(
@@ -333,7 +342,7 @@ class GameBoardsTest {
         ResourceCard.builder().cardIdentity(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1)).value(8).build()
     );
 
-    var categorizedCards = new HashMap<CardType, List<? extends Card>>();
+    var categorizedCards = new CategorizedCards<Card>();
     categorizedCards.put(CardType.BASIC_RESOURCE, List.of(cards.get(0), cards.get(1), cards.get(2)));
     categorizedCards.put(CardType.LEVEL_TWO_RESOURCE, List.of(cards.get(3)));
 
@@ -356,7 +365,7 @@ class GameBoardsTest {
         BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 1)).value(6).build()
     );
 
-    HashMap<CardType, List<? extends Card>> categorizedCards = new HashMap<>();
+    var categorizedCards = new CategorizedCards<Card>();
     categorizedCards.put(CardType.BASIC_RESOURCE, List.of(cards.get(0), cards.get(1), cards.get(2)));
     categorizedCards.put(CardType.LEVEL_ONE_RESOURCE, List.of(cards.get(3), cards.get(4), cards.get(5)));
     categorizedCards.put(CardType.LEVEL_TWO_RESOURCE, List.of(cards.get(6)));
@@ -0,0 +1,73 @@
+package org.magcube.gameboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.magcube.card.CardIdentity;
+import org.magcube.enums.CardType;
+import org.magcube.enums.NumOfPlayers;
+
+class ParsedCardIdentitiesTest {
+
+  @Test
+  void parseTest() {
+    var cardIdentities = List.of(
+        new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 2),
+        new CardIdentity(CardType.BUILDING, 1),
+        new CardIdentity(CardType.BASIC_RESOURCE, 1),
+        new CardIdentity(CardType.LEVEL_ONE_RESOURCE, 2)
+    );
+    var parsed = new ParsedCardIdentities();
+
+    assertTrue(parsed.parse(cardIdentities));
+    assertEquals(cardIdentities, parsed);
+    assertEquals(3, parsed.numOfResourceCards());
+    assertEquals(GameBoards.categorizeCardIdentities(cardIdentities), parsed.categorized());
+  }
+
+  @Test
+  void parseShouldRejectEmptyOrInvalidTest() {
+    var parsed = new ParsedCardIdentities();
+    assertTrue(parsed.parse(List.of(new CardIdentity(CardType.BASIC_RESOURCE, 1))));
+
+    assertFalse(parsed.parse(List.of()));
+    assertFalse(parsed.parse(List.of(new CardIdentity(CardType.BASIC_RESOURCE, 1), new CardIdentity(CardType.BUILDING, 99999))));
+    assertFalse(parsed.parse(List.of(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 0))));
+    assertFalse(parsed.parse(List.of(new CardIdentity(null, 1))));
+    assertTrue(parsed.isEmpty());
+    assertEquals(0, parsed.numOfResourceCards());
+    assertTrue(parsed.categorized().isEmpty());
+  }
+
+  @Test
+  void parseShouldReuseTheInstanceTest() {
+    var parsed = new ParsedCardIdentities();
+    assertTrue(parsed.parse(List.of(new CardIdentity(CardType.BUILDING, 1), new CardIdentity(CardType.BASIC_RESOURCE, 1))));
+    assertTrue(parsed.parse(List.of(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1))));
+
+    assertEquals(List.of(new CardIdentity(CardType.LEVEL_TWO_RESOURCE, 1)), parsed);
+    assertEquals(1, parsed.numOfResourceCards());
+    assertEquals(1, parsed.categorized().size());
+    assertFalse(parsed.categorized().containsKey(CardType.BUILDING));
+  }
+
+  @ParameterizedTest
+  @EnumSource(NumOfPlayers.class)
+  void cardsInDisplayShouldAcceptParsedCardIdentitiesTest(NumOfPlayers numOfPlayers) {
+    var gameBoard = new GameBoard(numOfPlayers);
+    var gameBoardState = gameBoard.gameBoardState();
+    var cardIdentities = List.of(
+        gameBoardState.levelOneResource().displaying().get(0).get(0).getCardIdentity(),
+        gameBoardState.building().displaying().get(0).get(0).getCardIdentity()
+    );
+    var parsed = new ParsedCardIdentities();
+    assertTrue(parsed.parse(cardIdentities));
+
+    assertEquals(gameBoard.cardsInDisplay(cardIdentities), gameBoard.cardsInDisplay(parsed));
+  }
+}
@@ -88,7 +88,8 @@ public class PlayerTest {
     var testCardIdentity3 = new CardIdentity(CardType.BASIC_RESOURCE, 3);
 
     assertEquals(List.of(ownCard1a), player.equivalentResources(List.of(testCardIdentity1a)));
-    assertEquals(List.of(ownCard1b), player.equivalentResources(List.of(testCardIdentity1b)));
+    // cards are distinct instances, the first owned card of the identity is picked
+    assertEquals(List.of(ownCard1a), player.equivalentResources(List.of(testCardIdentity1b)));
     assertEquals(List.of(ownCard1a, ownCard1b), player.equivalentResources(List.of(testCardIdentity1a, testCardIdentity1b)));
     assertEquals(List.of(ownCard1a, ownCard2), player.equivalentResources(List.of(testCardIdentity1a, testCardIdentity2a)));
     assertEquals(List.of(ownCard1a, ownCard1b, ownCard2),
@@ -128,4 +129,34 @@ public class PlayerTest {
     assertNull(player.equivalentBuilding(testCardIdentity4));
     assertNull(player.equivalentBuilding(testCardIdentity5));
   }
+
+  @Test
+  void copyShouldBeIndependentTest() {
+    var user = new Player("1", "test12312412312");
+    var resource = ResourceCard.builder().cardIdentity(new CardIdentity(CardType.BASIC_RESOURCE, 1)).build();
+    var building = BuildingCard.builder().cardIdentity(new CardIdentity(CardType.BUILDING, 1)).points(1).build();
+    user.takeResourceCards(List.of(resource));
+    user.takeBuildingCards(List.of(building));
+    user.activateBuilding(building);
+    user.receiveCoin(5);
+    user.addPointTokens(2);
+    user.setTradedOrPlayerProduced(true);
+
+    var copy = user.copy();
+    assertEquals(user.getId(), copy.getId());
+    assertEquals(user.getName(), copy.getName());
+    assertEquals(List.of(resource), copy.getResources());
+    assertEquals(List.of(building), copy.getBuildings());
+    assertEquals(List.of(building), copy.getActivatedBuildings());
+    assertEquals(5, copy.getCoin());
+    assertEquals(3, copy.points());
+    assertTrue(copy.isTradedOrPlayerProduced());
+
+    copy.discardCards(List.of(resource));
+    copy.resetActivatedBuildings();
+    copy.spendCoin();
+    assertEquals(List.of(resource), user.getResources());
+    assertEquals(List.of(building), user.getActivatedBuildings());
+    assertEquals(5, user.getCoin());
+  }
 }